@@ -2,7 +2,6 @@ package org.squadron;
 
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
-import jakarta.persistence.EntityManager;
 import jakarta.transaction.Transactional;
 import org.squadron.service.UserService;
 import org.squadron.service.HardwareAssetService;
@@ -39,15 +38,9 @@ public class Bootstrap {
     
     @Inject
     EquipmentService equipmentService;
-    
-    @Inject
-    EntityManager entityManager;
 
     @Transactional
     void onStart(@Observes StartupEvent ev) {
-        // Fix column sizes for large data (base64 images)
-        fixColumnSizes();
-        
         seedUsers();
         seedHardwareAssets();
         seedPeripherals();
@@ -56,33 +49,6 @@ public class Bootstrap {
         System.out.println("[Bootstrap] Database seeded successfully!");
     }
     
-    private void fixColumnSizes() {
-        try {
-            // Alter columns to support large base64 images
-            entityManager.createNativeQuery("ALTER TABLE verification_records MODIFY COLUMN uploadedImage LONGTEXT").executeUpdate();
-            entityManager.createNativeQuery("ALTER TABLE verification_records MODIFY COLUMN comment TEXT").executeUpdate();
-            System.out.println("[Bootstrap] Column sizes fixed for verification_records");
-        } catch (Exception e) {
-            // Table might not exist yet or columns already correct - ignore
-            System.out.println("[Bootstrap] Column fix skipped: " + e.getMessage());
-        }
-        
-        // Make columns nullable for peripherals (required for instock peripherals)
-        try {
-            entityManager.createNativeQuery("ALTER TABLE peripherals MODIFY COLUMN assignedTo VARCHAR(255) NULL").executeUpdate();
-            entityManager.createNativeQuery("ALTER TABLE peripherals MODIFY COLUMN assignedToName VARCHAR(255) NULL").executeUpdate();
-            entityManager.createNativeQuery("ALTER TABLE peripherals MODIFY COLUMN assignedDate DATE NULL").executeUpdate();
-            entityManager.createNativeQuery("ALTER TABLE peripherals MODIFY COLUMN location VARCHAR(255) NULL").executeUpdate();
-            entityManager.createNativeQuery("ALTER TABLE peripherals MODIFY COLUMN purchaseDate DATE NULL").executeUpdate();
-            entityManager.createNativeQuery("ALTER TABLE peripherals MODIFY COLUMN serialNumber VARCHAR(255) NULL").executeUpdate();
-            entityManager.createNativeQuery("ALTER TABLE peripherals MODIFY COLUMN verifiedDate DATE NULL").executeUpdate();
-            entityManager.createNativeQuery("ALTER TABLE peripherals MODIFY COLUMN status VARCHAR(255) NOT NULL DEFAULT 'Instock'").executeUpdate();
-            System.out.println("[Bootstrap] Peripherals table schema fixed");
-        } catch (Exception e) {
-            System.out.println("[Bootstrap] Peripherals schema fix skipped: " + e.getMessage());
-        }
-    }
-    
     private void seedUsers() {
         // Finance user
         if (userService.findByUsername("dhruv.khullar").isEmpty()) {
@@ -4,7 +4,9 @@ import jakarta.ws.rs.GET;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.Produces;
 import jakarta.ws.rs.core.MediaType;
+import org.squadron.auth.Public;
 
+@Public
 @Path("/hello")
 public class GreetingResource {
 
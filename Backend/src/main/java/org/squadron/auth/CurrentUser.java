@@ -0,0 +1,35 @@
+package org.squadron.auth;
+
+import jakarta.enterprise.context.RequestScoped;
+import org.squadron.auth.JwtService.Claims;
+
+import java.util.Optional;
+
+/**
+ * The authenticated user of the current request, set once by {@link org.squadron.filter.AuthFilter}.
+ */
+@RequestScoped
+public class CurrentUser {
+    
+    private Claims principal;
+    
+    public void set(Claims principal) {
+        this.principal = principal;
+    }
+    
+    public Optional<Claims> get() {
+        return Optional.ofNullable(principal);
+    }
+    
+    public boolean isAuthenticated() {
+        return principal != null;
+    }
+    
+    public Long userId() {
+        return principal != null ? principal.userId() : null;
+    }
+    
+    public String role() {
+        return principal != null ? principal.role() : null;
+    }
+}
@@ -0,0 +1,189 @@
+package org.squadron.auth;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.squadron.model.User;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Issues and verifies HS256-signed JWTs.
+ *
+ * Access tokens are short lived and carry the user's id, role and profile fields, so a request can
+ * be authenticated without touching the database or any shared session state. Refresh tokens live
+ * longer, carry only the user id, and are exchanged for a new access token after the user has been
+ * re-read. Tokens cannot be revoked before they expire, which is why access tokens are kept short.
+ */
+@ApplicationScoped
+public class JwtService {
+    
+    public static final String ACCESS = "access";
+    public static final String REFRESH = "refresh";
+    
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+    private static final String HEADER = ENCODER.encodeToString(
+            "{\"alg\":\"HS256\",\"typ\":\"JWT\"}".getBytes(StandardCharsets.UTF_8));
+    
+    @Inject
+    ObjectMapper objectMapper;
+    
+    @ConfigProperty(name = "app.jwt.secret")
+    String secret;
+    
+    @ConfigProperty(name = "app.jwt.issuer", defaultValue = "squadron")
+    String issuer;
+    
+    @ConfigProperty(name = "app.jwt.access-ttl", defaultValue = "PT15M")
+    Duration accessTtl;
+    
+    @ConfigProperty(name = "app.jwt.refresh-ttl", defaultValue = "P7D")
+    Duration refreshTtl;
+    
+    private ThreadLocal<Mac> mac;
+    
+    /**
+     * Verified token contents.
+     */
+    public record Claims(long userId, String type, String role, String username, String name,
+                         String email, String employeeId, String department, long expiresAt) {
+        
+        /**
+         * The user profile as returned by /api/auth/me.
+         */
+        public Map<String, Object> profile() {
+            Map<String, Object> profile = new LinkedHashMap<>();
+            profile.put("id", userId);
+            profile.put("username", username);
+            profile.put("role", role);
+            profile.put("name", name);
+            profile.put("email", email);
+            profile.put("employeeId", employeeId);
+            profile.put("department", department);
+            return profile;
+        }
+    }
+    
+    @PostConstruct
+    void init() {
+        byte[] keyBytes = secret.getBytes(StandardCharsets.UTF_8);
+        if (keyBytes.length < 32) {
+            throw new IllegalStateException("app.jwt.secret must be at least 32 bytes");
+        }
+        SecretKeySpec key = new SecretKeySpec(keyBytes, "HmacSHA256");
+        mac = ThreadLocal.withInitial(() -> {
+            try {
+                Mac m = Mac.getInstance("HmacSHA256");
+                m.init(key);
+                return m;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("HmacSHA256 unavailable", e);
+            }
+        });
+    }
+    
+    public Duration accessTtl() {
+        return accessTtl;
+    }
+    
+    public Duration refreshTtl() {
+        return refreshTtl;
+    }
+    
+    public String issueAccessToken(User user) {
+        Map<String, Object> claims = baseClaims(user, ACCESS, accessTtl);
+        claims.put("role", user.role);
+        claims.put("username", user.username);
+        claims.put("name", user.name);
+        claims.put("email", user.email);
+        claims.put("employeeId", user.employeeId);
+        claims.put("department", user.department);
+        return sign(claims);
+    }
+    
+    public String issueRefreshToken(User user) {
+        return sign(baseClaims(user, REFRESH, refreshTtl));
+    }
+    
+    /**
+     * Claims of a token with a valid signature, the expected type and no expiry in the past; empty otherwise.
+     */
+    public Optional<Claims> verify(String token, String expectedType) {
+        if (token == null) {
+            return Optional.empty();
+        }
+        int first = token.indexOf('.');
+        int second = token.indexOf('.', first + 1);
+        if (first < 0 || second < 0 || token.indexOf('.', second + 1) >= 0) {
+            return Optional.empty();
+        }
+        // Only our own header is accepted, so the algorithm cannot be swapped
+        if (!HEADER.equals(token.substring(0, first))) {
+            return Optional.empty();
+        }
+        try {
+            byte[] expected = signature(token.substring(0, second));
+            byte[] actual = DECODER.decode(token.substring(second + 1));
+            if (!MessageDigest.isEqual(expected, actual)) {
+                return Optional.empty();
+            }
+            Map<?, ?> payload = objectMapper.readValue(DECODER.decode(token.substring(first + 1, second)), Map.class);
+            long expiresAt = ((Number) payload.get("exp")).longValue();
+            if (!issuer.equals(payload.get("iss")) || !expectedType.equals(payload.get("typ"))
+                    || expiresAt <= System.currentTimeMillis() / 1000) {
+                return Optional.empty();
+            }
+            return Optional.of(new Claims(
+                    Long.parseLong((String) payload.get("sub")),
+                    (String) payload.get("typ"),
+                    (String) payload.get("role"),
+                    (String) payload.get("username"),
+                    (String) payload.get("name"),
+                    (String) payload.get("email"),
+                    (String) payload.get("employeeId"),
+                    (String) payload.get("department"),
+                    expiresAt));
+        } catch (Exception e) {
+            // Malformed base64, JSON or claim types
+            return Optional.empty();
+        }
+    }
+    
+    private Map<String, Object> baseClaims(User user, String type, Duration ttl) {
+        long now = System.currentTimeMillis() / 1000;
+        Map<String, Object> claims = new LinkedHashMap<>();
+        claims.put("iss", issuer);
+        claims.put("sub", String.valueOf(user.id));
+        claims.put("typ", type);
+        claims.put("iat", now);
+        claims.put("exp", now + ttl.toSeconds());
+        claims.put("jti", UUID.randomUUID().toString());
+        return claims;
+    }
+    
+    private String sign(Map<String, Object> claims) {
+        try {
+            String unsigned = HEADER + "." + ENCODER.encodeToString(objectMapper.writeValueAsBytes(claims));
+            return unsigned + "." + ENCODER.encodeToString(signature(unsigned));
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to sign token", e);
+        }
+    }
+    
+    private byte[] signature(String unsigned) {
+        return mac.get().doFinal(unsigned.getBytes(StandardCharsets.UTF_8));
+    }
+}
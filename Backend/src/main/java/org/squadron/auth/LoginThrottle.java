@@ -0,0 +1,92 @@
+package org.squadron.auth;
+
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Fixed-window login attempt limits.
+ *
+ * Every attempt counts against the client IP (app.auth.login.max-attempts-per-ip), which caps
+ * credential stuffing across many accounts. Failed attempts count against the account
+ * (app.auth.login.max-failures-per-account) and a successful login clears them, which caps
+ * guessing one password from many addresses. Expired windows are swept on a schedule.
+ */
+@ApplicationScoped
+public class LoginThrottle {
+    
+    @ConfigProperty(name = "app.auth.login.window", defaultValue = "PT15M")
+    Duration window;
+    
+    @ConfigProperty(name = "app.auth.login.max-attempts-per-ip", defaultValue = "100")
+    int maxAttemptsPerIp;
+    
+    @ConfigProperty(name = "app.auth.login.max-failures-per-account", defaultValue = "10")
+    int maxFailuresPerAccount;
+    
+    public enum Limit { ip, account }
+    
+    public record Rejection(Limit limit, Duration retryAfter) {
+    }
+    
+    private record Window(long start, int count) {
+    }
+    
+    private final Map<String, Window> byIp = new ConcurrentHashMap<>();
+    private final Map<String, Window> byAccount = new ConcurrentHashMap<>();
+    
+    /**
+     * Registers an attempt for {@code ip} and checks both limits. Rejected attempts still count
+     * against the IP, so hammering a blocked address does not shorten its wait.
+     */
+    public Optional<Rejection> tryAttempt(String login, String ip) {
+        long now = System.currentTimeMillis();
+        Window ipWindow = byIp.compute(ip, (k, w) -> increment(w, now));
+        if (ipWindow.count() > maxAttemptsPerIp) {
+            return Optional.of(new Rejection(Limit.ip, retryAfter(ipWindow, now)));
+        }
+        Window accountWindow = byAccount.get(accountKey(login));
+        if (accountWindow != null && !expired(accountWindow, now) && accountWindow.count() >= maxFailuresPerAccount) {
+            return Optional.of(new Rejection(Limit.account, retryAfter(accountWindow, now)));
+        }
+        return Optional.empty();
+    }
+    
+    public void failed(String login) {
+        long now = System.currentTimeMillis();
+        byAccount.compute(accountKey(login), (k, w) -> increment(w, now));
+    }
+    
+    public void succeeded(String login) {
+        byAccount.remove(accountKey(login));
+    }
+    
+    @Scheduled(every = "${app.auth.login.sweep-interval:60s}", concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void sweep() {
+        long now = System.currentTimeMillis();
+        byIp.values().removeIf(w -> expired(w, now));
+        byAccount.values().removeIf(w -> expired(w, now));
+    }
+    
+    private Window increment(Window w, long now) {
+        return w == null || expired(w, now) ? new Window(now, 1) : new Window(w.start(), w.count() + 1);
+    }
+    
+    private boolean expired(Window w, long now) {
+        return now - w.start() >= window.toMillis();
+    }
+    
+    private Duration retryAfter(Window w, long now) {
+        return Duration.ofMillis(Math.max(0, w.start() + window.toMillis() - now));
+    }
+    
+    private static String accountKey(String login) {
+        return login.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,70 @@
+package org.squadron.auth;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.mindrot.jbcrypt.BCrypt;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs BCrypt password checks on a small dedicated pool instead of the HTTP worker threads.
+ *
+ * The pool has app.auth.bcrypt.threads threads and a queue of app.auth.bcrypt.queue-size checks.
+ * When both are full the returned future fails with {@link RejectedExecutionException}, so a login
+ * burst is turned away at once instead of pinning the workers that serve the rest of the API.
+ */
+@ApplicationScoped
+public class PasswordVerifier {
+    
+    @Inject
+    MeterRegistry meterRegistry;
+    
+    @ConfigProperty(name = "app.auth.bcrypt.threads", defaultValue = "2")
+    int threads;
+    
+    @ConfigProperty(name = "app.auth.bcrypt.queue-size", defaultValue = "64")
+    int queueSize;
+    
+    private ThreadPoolExecutor executor;
+    private Timer checkTimer;
+    
+    @PostConstruct
+    void start() {
+        AtomicInteger count = new AtomicInteger();
+        executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueSize), r -> {
+                    Thread t = new Thread(r, "bcrypt-" + count.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                }, new ThreadPoolExecutor.AbortPolicy());
+        checkTimer = meterRegistry.timer("auth.bcrypt.check");
+        meterRegistry.gauge("auth.bcrypt.queued", executor, e -> e.getQueue().size());
+        meterRegistry.gauge("auth.bcrypt.active", executor, ThreadPoolExecutor::getActiveCount);
+    }
+    
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+    }
+    
+    /**
+     * Checks {@code raw} against a BCrypt hash on the password pool.
+     */
+    public CompletableFuture<Boolean> matches(String raw, String hash) {
+        try {
+            return CompletableFuture.supplyAsync(() -> checkTimer.record(() -> BCrypt.checkpw(raw, hash)), executor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+}
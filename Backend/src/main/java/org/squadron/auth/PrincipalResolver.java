@@ -0,0 +1,105 @@
+package org.squadron.auth;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.squadron.auth.JwtService.Claims;
+import org.squadron.model.User;
+import org.squadron.repository.UserRepository;
+import org.squadron.service.SessionService;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Turns request credentials into a principal.
+ *
+ * Verified access tokens are cached until they expire, so a repeat request costs a map lookup
+ * instead of an HMAC and a JSON parse. Legacy sid sessions need the user row; that is cached for
+ * app.auth.session-principal-ttl. Both caches are dropped wholesale when they reach
+ * app.auth.principal-cache-size, which keeps them bounded without per-entry bookkeeping.
+ */
+@ApplicationScoped
+public class PrincipalResolver {
+    
+    static final String SESSION = "session";
+    
+    @Inject
+    JwtService jwtService;
+    
+    @Inject
+    SessionService sessionService;
+    
+    @Inject
+    UserRepository userRepository;
+    
+    @ConfigProperty(name = "app.auth.principal-cache-size", defaultValue = "10000")
+    int cacheSize;
+    
+    @ConfigProperty(name = "app.auth.session-principal-ttl", defaultValue = "PT30S")
+    Duration sessionPrincipalTtl;
+    
+    private record SessionPrincipal(Claims claims, long cachedAt) {
+    }
+    
+    private final Map<String, Claims> tokens = new ConcurrentHashMap<>();
+    private final Map<String, SessionPrincipal> sessions = new ConcurrentHashMap<>();
+    
+    public Optional<Claims> resolve(String accessToken, String sid) {
+        if (accessToken != null) {
+            Optional<Claims> claims = fromToken(accessToken);
+            if (claims.isPresent()) {
+                return claims;
+            }
+        }
+        return sid != null ? fromSession(sid) : Optional.empty();
+    }
+    
+    public void evictSession(String sid) {
+        if (sid != null) {
+            sessions.remove(sid);
+        }
+    }
+    
+    private Optional<Claims> fromToken(String token) {
+        Claims cached = tokens.get(token);
+        if (cached != null) {
+            if (cached.expiresAt() > System.currentTimeMillis() / 1000) {
+                return Optional.of(cached);
+            }
+            tokens.remove(token);
+            return Optional.empty();
+        }
+        Optional<Claims> verified = jwtService.verify(token, JwtService.ACCESS);
+        if (verified.isPresent()) {
+            if (tokens.size() >= cacheSize) {
+                tokens.clear();
+            }
+            tokens.put(token, verified.get());
+        }
+        return verified;
+    }
+    
+    private Optional<Claims> fromSession(String sid) {
+        long now = System.currentTimeMillis();
+        SessionPrincipal cached = sessions.get(sid);
+        if (cached != null && now - cached.cachedAt() < sessionPrincipalTtl.toMillis()) {
+            return Optional.of(cached.claims());
+        }
+        Optional<Long> userId = sessionService.getUserId(sid);
+        User user = userId.isPresent() ? userRepository.findByIdUncached(userId.get()) : null;
+        if (user == null || !user.active) {
+            sessions.remove(sid);
+            return Optional.empty();
+        }
+        Claims claims = new Claims(user.id, SESSION, user.role, user.username, user.name,
+                user.email, user.employeeId, user.department, Long.MAX_VALUE);
+        if (sessions.size() >= cacheSize) {
+            sessions.clear();
+        }
+        sessions.put(sid, new SessionPrincipal(claims, now));
+        return Optional.of(claims);
+    }
+}
@@ -0,0 +1,16 @@
+package org.squadron.auth;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Restricts a resource class or method to users with one of the given roles.
+ * A method annotation replaces the class annotation.
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Roles {
+    String[] value();
+}
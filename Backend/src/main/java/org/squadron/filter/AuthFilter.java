@@ -0,0 +1,104 @@
+package org.squadron.filter;
+
+import jakarta.annotation.Priority;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.Priorities;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.container.ResourceInfo;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.Cookie;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.ext.Provider;
+import org.squadron.auth.CurrentUser;
+import org.squadron.auth.JwtService.Claims;
+import org.squadron.auth.PrincipalResolver;
+import org.squadron.auth.Public;
+import org.squadron.auth.Roles;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Authenticates every resource call once and stores the principal in {@link CurrentUser}.
+ *
+ * Resources require a logged-in user unless annotated {@link Public}; {@link Roles} narrows access
+ * further. The access rule of each resource method is read from its annotations once and cached.
+ */
+@Provider
+@Priority(Priorities.AUTHENTICATION)
+public class AuthFilter implements ContainerRequestFilter {
+    
+    static final String ACCESS_COOKIE = "access_token";
+    static final String SESSION_COOKIE = "sid";
+    
+    @Context
+    ResourceInfo resourceInfo;
+    
+    @Inject
+    PrincipalResolver resolver;
+    
+    @Inject
+    CurrentUser currentUser;
+    
+    private record Rule(boolean isPublic, Set<String> roles) {
+    }
+    
+    private static final Map<Method, Rule> RULES = new ConcurrentHashMap<>();
+    
+    @Override
+    public void filter(ContainerRequestContext request) {
+        Method method = resourceInfo.getResourceMethod();
+        if (method == null) {
+            return;
+        }
+        Rule rule = RULES.computeIfAbsent(method, m -> ruleOf(resourceInfo.getResourceClass(), m));
+        
+        Map<String, Cookie> cookies = request.getCookies();
+        Cookie access = cookies.get(ACCESS_COOKIE);
+        Cookie sid = cookies.get(SESSION_COOKIE);
+        String token = access != null ? access.getValue() : bearerToken(request.getHeaderString(HttpHeaders.AUTHORIZATION));
+        Optional<Claims> principal = token != null || sid != null
+                ? resolver.resolve(token, sid != null ? sid.getValue() : null)
+                : Optional.empty();
+        principal.ifPresent(currentUser::set);
+        
+        if (rule.isPublic()) {
+            return;
+        }
+        if (principal.isEmpty()) {
+            request.abortWith(deny(Response.Status.UNAUTHORIZED, "Not logged in"));
+        } else if (!rule.roles().isEmpty() && !rule.roles().contains(principal.get().role())) {
+            request.abortWith(deny(Response.Status.FORBIDDEN, "Access denied"));
+        }
+    }
+    
+    private static Rule ruleOf(Class<?> resource, Method method) {
+        boolean isPublic = method.isAnnotationPresent(Public.class)
+                || (resource != null && resource.isAnnotationPresent(Public.class));
+        Roles roles = method.getAnnotation(Roles.class);
+        if (roles == null && resource != null) {
+            roles = resource.getAnnotation(Roles.class);
+        }
+        return new Rule(isPublic, roles != null ? Set.of(roles.value()) : Set.of());
+    }
+    
+    static String bearerToken(String authorization) {
+        if (authorization != null && authorization.regionMatches(true, 0, "Bearer ", 0, 7)) {
+            return authorization.substring(7).trim();
+        }
+        return null;
+    }
+    
+    private static Response deny(Response.Status status, String message) {
+        return Response.status(status)
+            .type(MediaType.APPLICATION_JSON)
+            .entity(Map.of("message", message))
+            .build();
+    }
+}
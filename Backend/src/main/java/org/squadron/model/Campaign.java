@@ -2,11 +2,14 @@ package org.squadron.model;
 
 import io.quarkus.hibernate.orm.panache.PanacheEntity;
 import jakarta.persistence.*;
-import com.fasterxml.jackson.annotation.JsonManagedReference;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import java.time.LocalDate;
 import java.util.List;
+import org.squadron.service.SearchIndexListener;
 
 @Entity
+@Cacheable
+@EntityListeners(SearchIndexListener.class)
 @Table(name = "campaigns")
 public class Campaign extends PanacheEntity {
     
@@ -44,8 +47,9 @@ public class Campaign extends PanacheEntity {
     @Column(columnDefinition = "TEXT")
     public String filtersJson;
     
+    // Not serialized: records are listed through GET /api/campaigns/{id}/records
     @OneToMany(mappedBy = "campaign", cascade = CascadeType.ALL, orphanRemoval = true)
-    @JsonManagedReference
+    @JsonIgnore
     public List<VerificationRecord> verificationRecords;
     
     // Enum definition
@@ -5,8 +5,10 @@ import io.quarkus.hibernate.orm.panache.PanacheEntity;
 import jakarta.persistence.*;
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import org.squadron.service.SearchIndexListener;
 
 @Entity
+@EntityListeners(SearchIndexListener.class)
 @Table(name = "equipment_counts")
 public class EquipmentCount extends PanacheEntity {
     
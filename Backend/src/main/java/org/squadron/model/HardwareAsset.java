@@ -4,8 +4,10 @@ import io.quarkus.hibernate.orm.panache.PanacheEntity;
 import jakarta.persistence.*;
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import org.squadron.service.SearchIndexListener;
 
 @Entity
+@EntityListeners(SearchIndexListener.class)
 @Table(name = "hardware_assets")
 public class HardwareAsset extends PanacheEntity {
     
@@ -3,9 +3,14 @@ package org.squadron.model;
 import io.quarkus.hibernate.orm.panache.PanacheEntity;
 import jakarta.persistence.*;
 import java.time.LocalDate;
+import org.squadron.service.SearchIndexListener;
 
 @Entity
-@Table(name = "peripherals")
+@EntityListeners(SearchIndexListener.class)
+@Table(name = "peripherals", indexes = {
+    @Index(name = "idx_peripherals_asset", columnList = "assetId"),
+    @Index(name = "idx_peripherals_assigned_to", columnList = "assignedTo")
+})
 public class Peripheral extends PanacheEntity {
     
     @Column(nullable = false)
@@ -22,6 +27,8 @@ public class Peripheral extends PanacheEntity {
     
     public String assignedToName;
     
+    public Long assetId; // hardware asset this peripheral ships with (nullable)
+    
     public boolean verified;
     
     public LocalDate assignedDate;
@@ -1,10 +1,16 @@
 package org.squadron.model;
 
 import io.quarkus.hibernate.orm.panache.PanacheEntity;
+import jakarta.persistence.Cacheable;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.Table;
+import org.squadron.service.SearchIndexListener;
 
 @Entity
+@Cacheable
+@EntityListeners(SearchIndexListener.class)
 @Table(name = "users")
 public class User extends PanacheEntity {
     public String username;
@@ -17,4 +23,8 @@ public class User extends PanacheEntity {
     public String phone;
     public String department;
     public String employeeId;
+
+    // Cleared by the HR directory sync when an employee leaves; inactive users cannot log in
+    @Column(nullable = false, columnDefinition = "boolean default true")
+    public boolean active = true;
 }
\ No newline at end of file
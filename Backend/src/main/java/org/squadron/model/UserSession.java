@@ -0,0 +1,25 @@
+package org.squadron.model;
+
+import io.quarkus.hibernate.orm.panache.PanacheEntity;
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "user_sessions", indexes = {
+    @Index(name = "idx_user_sessions_last_access", columnList = "lastAccess")
+})
+public class UserSession extends PanacheEntity {
+    
+    @Column(nullable = false, unique = true, length = 64)
+    public String sid;
+    
+    @Column(nullable = false)
+    public Long userId;
+    
+    @Column(nullable = false)
+    public LocalDateTime createdAt;
+    
+    // Sliding expiry: the session is valid while lastAccess + TTL is in the future
+    @Column(nullable = false)
+    public LocalDateTime lastAccess;
+}
@@ -1,28 +1,51 @@
 package org.squadron.repository;
 
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
+import io.quarkus.panache.common.Sort;
 import org.squadron.model.Campaign;
 import org.squadron.model.Campaign.CampaignStatus;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.persistence.CacheRetrieveMode;
 
 import java.util.List;
+import java.util.Map;
 
 @ApplicationScoped
 public class CampaignRepository implements PanacheRepository<Campaign> {
     
-    public List<Campaign> findByStatus(CampaignStatus status) {
-        return find("status", status).list();
+    /**
+     * Load by id from the database rather than the second-level cache. Writes start from this so a
+     * copy cached before another node's change is never written back over it.
+     */
+    public Campaign findByIdUncached(Long id) {
+        return getEntityManager().find(Campaign.class, id,
+            Map.of("jakarta.persistence.cache.retrieveMode", CacheRetrieveMode.BYPASS));
     }
     
-    public List<Campaign> findActive() {
-        return find("status", CampaignStatus.Active).list();
+    public List<CampaignSummary> findAllSummaries() {
+        return findAll(Sort.ascending("id")).project(CampaignSummary.class).list();
     }
     
-    public List<Campaign> findByCreatedBy(String userId) {
-        return find("createdBy", userId).list();
+    public List<CampaignSummary> findByStatus(CampaignStatus status) {
+        return find("status", Sort.ascending("id"), status).project(CampaignSummary.class).list();
+    }
+    
+    public List<CampaignSummary> findActive() {
+        return findByStatus(CampaignStatus.Active);
+    }
+    
+    public List<CampaignSummary> findByCreatedBy(String userId) {
+        return find("createdBy", Sort.ascending("id"), userId).project(CampaignSummary.class).list();
     }
     
     public long countByStatus(CampaignStatus status) {
         return count("status", status);
     }
+    
+    public KeysetPage<CampaignSummary> findPage(Long after, Integer limit, CampaignStatus status, String createdBy) {
+        return new KeysetQuery(after, limit)
+            .eq("status", status)
+            .eq("createdBy", createdBy)
+            .fetch(this, CampaignSummary.class, c -> c.id);
+    }
 }
@@ -0,0 +1,54 @@
+package org.squadron.repository;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import org.squadron.model.Campaign.CampaignStatus;
+
+import java.time.LocalDate;
+
+/**
+ * Read-only campaign projection for list views: header fields, the target filters and counters,
+ * so listing campaigns never touches verification_records.
+ */
+@RegisterForReflection
+public class CampaignSummary {
+    
+    public final Long id;
+    public final String name;
+    public final String description;
+    public final String createdBy;
+    public final LocalDate createdDate;
+    public final LocalDate startDate;
+    public final LocalDate deadline;
+    public final CampaignStatus status;
+    public final int totalEmployees;
+    public final int totalAssets;
+    public final int totalPeripherals;
+    public final int verifiedCount;
+    public final int pendingCount;
+    public final int overdueCount;
+    public final int exceptionCount;
+    public final String filtersJson;
+    
+    public CampaignSummary(Long id, String name, String description, String createdBy,
+                           LocalDate createdDate, LocalDate startDate, LocalDate deadline,
+                           CampaignStatus status, int totalEmployees, int totalAssets,
+                           int totalPeripherals, int verifiedCount, int pendingCount,
+                           int overdueCount, int exceptionCount, String filtersJson) {
+        this.id = id;
+        this.name = name;
+        this.description = description;
+        this.createdBy = createdBy;
+        this.createdDate = createdDate;
+        this.startDate = startDate;
+        this.deadline = deadline;
+        this.status = status;
+        this.totalEmployees = totalEmployees;
+        this.totalAssets = totalAssets;
+        this.totalPeripherals = totalPeripherals;
+        this.verifiedCount = verifiedCount;
+        this.pendingCount = pendingCount;
+        this.overdueCount = overdueCount;
+        this.exceptionCount = exceptionCount;
+        this.filtersJson = filtersJson;
+    }
+}
@@ -6,6 +6,7 @@ import org.squadron.model.EquipmentCount.EquipmentCategory;
 import org.squadron.model.EquipmentCount.EquipmentStatus;
 import org.squadron.model.EquipmentCount.VerificationStatus;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.persistence.TypedQuery;
 
 import java.util.List;
 
@@ -55,4 +56,40 @@ public class EquipmentCountRepository implements PanacheRepository<EquipmentCoun
     public long countByCategory(EquipmentCategory category) {
         return count("category", category);
     }
+    
+    /**
+     * SUM(quantity) and SUM(itemValue) per category in one query, optionally restricted to a location and status.
+     * Each row is [EquipmentCategory, Long quantity, BigDecimal value].
+     */
+    public List<Object[]> sumByCategory(String location, EquipmentStatus status) {
+        StringBuilder jpql = new StringBuilder(
+            "select e.category, coalesce(sum(e.quantity), 0), coalesce(sum(e.itemValue), 0) from EquipmentCount e where 1 = 1");
+        if (location != null && !location.isBlank()) {
+            jpql.append(" and e.location = :location");
+        }
+        if (status != null) {
+            jpql.append(" and e.status = :status");
+        }
+        jpql.append(" group by e.category");
+        
+        TypedQuery<Object[]> query = getEntityManager().createQuery(jpql.toString(), Object[].class);
+        if (location != null && !location.isBlank()) {
+            query.setParameter("location", location);
+        }
+        if (status != null) {
+            query.setParameter("status", status);
+        }
+        return query.getResultList();
+    }
+    
+    public KeysetPage<EquipmentCount> findPage(Long after, Integer limit, EquipmentCategory category,
+                                               EquipmentStatus status, VerificationStatus verificationStatus,
+                                               String location) {
+        return new KeysetQuery(after, limit)
+            .eq("category", category)
+            .eq("status", status)
+            .eq("verificationStatus", verificationStatus)
+            .eq("location", location)
+            .fetch(this, e -> e.id);
+    }
 }
@@ -5,9 +5,14 @@ import org.squadron.model.HardwareAsset;
 import org.squadron.model.HardwareAsset.AssetStatus;
 import org.squadron.model.HardwareAsset.VerificationStatus;
 import org.squadron.model.HardwareAsset.AssetType;
+import io.quarkus.panache.common.Sort;
 import jakarta.enterprise.context.ApplicationScoped;
 
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 @ApplicationScoped
 public class HardwareAssetRepository implements PanacheRepository<HardwareAsset> {
@@ -32,6 +37,51 @@ public class HardwareAssetRepository implements PanacheRepository<HardwareAsset>
         return find("serviceTag", serviceTag).firstResult();
     }
     
+    /**
+     * Assets assigned to any of the given employees, grouped by employee id, in one query.
+     */
+    public Map<String, List<HardwareAsset>> findByAssignedToIn(Collection<String> employeeIds) {
+        if (employeeIds.isEmpty()) {
+            return Map.of();
+        }
+        return list("assignedTo in ?1", Sort.ascending("id"), employeeIds).stream()
+            .collect(Collectors.groupingBy(a -> a.assignedTo));
+    }
+    
+    /**
+     * Every [Long id, String serviceTag] pair, for building the service tag index.
+     */
+    public List<Object[]> serviceTags() {
+        return getEntityManager()
+            .createQuery("select a.id, a.serviceTag from HardwareAsset a", Object[].class)
+            .getResultList();
+    }
+    
+    public Map<Long, HardwareAsset> findByIds(Collection<Long> ids) {
+        Map<Long, HardwareAsset> byId = new HashMap<>();
+        if (ids.isEmpty()) {
+            return byId;
+        }
+        for (HardwareAsset asset : list("id in ?1", ids)) {
+            byId.put(asset.id, asset);
+        }
+        return byId;
+    }
+    
+    /**
+     * Existing assets for a batch of service tags, keyed by tag, in one query.
+     */
+    public Map<String, HardwareAsset> findByServiceTags(Collection<String> serviceTags) {
+        if (serviceTags.isEmpty()) {
+            return new HashMap<>();
+        }
+        Map<String, HardwareAsset> byTag = new HashMap<>();
+        for (HardwareAsset asset : list("serviceTag in ?1", serviceTags)) {
+            byTag.put(asset.serviceTag, asset);
+        }
+        return byTag;
+    }
+    
     public List<HardwareAsset> findInstock() {
         return find("status", AssetStatus.Instock).list();
     }
@@ -56,4 +106,28 @@ public class HardwareAssetRepository implements PanacheRepository<HardwareAsset>
     public long countByVerificationStatus(VerificationStatus status) {
         return count("verificationStatus", status);
     }
+    
+    /**
+     * Asset counts and total cost grouped by (status, verificationStatus), in one query.
+     * Each row is [AssetStatus, VerificationStatus, Long count, BigDecimal sumCost].
+     */
+    public List<Object[]> aggregateByStatus() {
+        return getEntityManager()
+            .createQuery("select a.status, a.verificationStatus, count(a), coalesce(sum(a.cost), 0) "
+                + "from HardwareAsset a group by a.status, a.verificationStatus", Object[].class)
+            .getResultList();
+    }
+    
+    public KeysetPage<HardwareAsset> findPage(Long after, Integer limit, AssetStatus status,
+                                              VerificationStatus verificationStatus, AssetType assetType,
+                                              String team, String location, String assignedTo) {
+        return new KeysetQuery(after, limit)
+            .eq("status", status)
+            .eq("verificationStatus", verificationStatus)
+            .eq("assetType", assetType)
+            .eq("team", team)
+            .eq("location", location)
+            .eq("assignedTo", assignedTo)
+            .fetch(this, a -> a.id);
+    }
 }
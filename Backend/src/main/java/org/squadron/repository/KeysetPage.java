@@ -0,0 +1,42 @@
+package org.squadron.repository;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of an id-ordered (keyset) listing.
+ * Pass {@code nextCursor} back as {@code after} to fetch the following page; it is null once the listing is exhausted.
+ */
+public class KeysetPage<T> {
+    
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 500;
+    
+    public List<T> items;
+    
+    public Long nextCursor;
+    
+    public boolean hasMore;
+    
+    public int limit;
+    
+    public static int clampLimit(Integer requested) {
+        if (requested == null || requested <= 0) {
+            return DEFAULT_LIMIT;
+        }
+        return Math.min(requested, MAX_LIMIT);
+    }
+    
+    /**
+     * Build a page from rows fetched with one extra row of look-ahead (limit + 1),
+     * so that {@code hasMore} is known without a separate count query.
+     */
+    public static <T> KeysetPage<T> of(List<T> rows, int limit, Function<T, Long> idOf) {
+        KeysetPage<T> page = new KeysetPage<>();
+        page.limit = limit;
+        page.hasMore = rows.size() > limit;
+        page.items = page.hasMore ? rows.subList(0, limit) : rows;
+        page.nextCursor = page.hasMore ? idOf.apply(page.items.get(limit - 1)) : null;
+        return page;
+    }
+}
@@ -0,0 +1,52 @@
+package org.squadron.repository;
+
+import io.quarkus.hibernate.orm.panache.PanacheQuery;
+import io.quarkus.hibernate.orm.panache.PanacheRepository;
+import io.quarkus.panache.common.Parameters;
+import io.quarkus.panache.common.Sort;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Builds a keyset query ({@code id > :after}) with optional equality filters.
+ * Null filter values are skipped, so callers can pass request parameters straight through.
+ */
+public class KeysetQuery {
+    
+    private final StringBuilder query = new StringBuilder("id > :after");
+    private final Parameters parameters;
+    private final int limit;
+    
+    public KeysetQuery(Long after, Integer limit) {
+        this.parameters = Parameters.with("after", after != null ? after : 0L);
+        this.limit = KeysetPage.clampLimit(limit);
+    }
+    
+    public KeysetQuery eq(String field, Object value) {
+        if (value == null || (value instanceof String s && s.isBlank())) {
+            return this;
+        }
+        String name = field.replace('.', '_');
+        query.append(" and ").append(field).append(" = :").append(name);
+        parameters.and(name, value);
+        return this;
+    }
+    
+    public <T> KeysetPage<T> fetch(PanacheRepository<T> repository, Function<T, Long> idOf) {
+        PanacheQuery<T> q = repository.find(query.toString(), Sort.ascending("id"), parameters);
+        // range() is inclusive: limit + 1 rows gives one row of look-ahead
+        List<T> rows = q.range(0, limit).list();
+        return KeysetPage.of(rows, limit, idOf);
+    }
+    
+    /**
+     * Same as {@link #fetch(PanacheRepository, Function)} but selects into a constructor projection
+     * instead of loading managed entities.
+     */
+    public <E, T> KeysetPage<T> fetch(PanacheRepository<E> repository, Class<T> projection, Function<T, Long> idOf) {
+        PanacheQuery<T> q = repository.find(query.toString(), Sort.ascending("id"), parameters).project(projection);
+        List<T> rows = q.range(0, limit).list();
+        return KeysetPage.of(rows, limit, idOf);
+    }
+}
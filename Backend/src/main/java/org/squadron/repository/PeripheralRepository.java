@@ -3,28 +3,122 @@ package org.squadron.repository;
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
 import org.squadron.model.Peripheral;
 import org.squadron.model.Peripheral.PeripheralType;
+import org.squadron.model.Peripheral.PeripheralStatus;
+import io.quarkus.panache.common.Sort;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.persistence.LockModeType;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @ApplicationScoped
 public class PeripheralRepository implements PanacheRepository<Peripheral> {
     
+    // Hibernate's lock-timeout value for "FOR UPDATE SKIP LOCKED"
+    private static final int SKIP_LOCKED = -2;
+    
+    public List<Peripheral> findByAssetId(Long assetId) {
+        return find("assetId", assetId).list();
+    }
+    
     /**
-     * Find peripherals by asset ID - Currently Peripheral doesn't have a direct relationship to HardwareAsset.
-     * This method returns an empty list since peripherals are assigned to employees, not hardware assets.
-     * Use findByAssignedTo(employeeId) instead to get peripherals for an employee.
+     * Peripherals linked to any of the given assets, grouped by asset id, in one query.
      */
-    public List<Peripheral> findByAssetId(Long assetId) {
-        // Peripheral model doesn't have hardwareAsset relationship - return empty list
-        // Peripherals are tracked by employee assignment (assignedTo field)
-        return List.of();
+    public Map<Long, List<Peripheral>> findByAssetIds(Collection<Long> assetIds) {
+        if (assetIds.isEmpty()) {
+            return Map.of();
+        }
+        return list("assetId in ?1", assetIds).stream()
+            .collect(Collectors.groupingBy(p -> p.assetId));
+    }
+    
+    /**
+     * Peripherals assigned to any of the given employees, grouped by employee id, in one query.
+     */
+    public Map<String, List<Peripheral>> findByAssignedToIn(Collection<String> employeeIds) {
+        if (employeeIds.isEmpty()) {
+            return Map.of();
+        }
+        return list("assignedTo in ?1", employeeIds).stream()
+            .collect(Collectors.groupingBy(p -> p.assignedTo));
+    }
+    
+    /**
+     * Everything an employee should confirm: peripherals assigned to them plus those linked to their assets.
+     */
+    public List<Peripheral> findForEmployee(String employeeId, Collection<Long> assetIds) {
+        if (assetIds.isEmpty()) {
+            return findByAssignedTo(employeeId);
+        }
+        return list("assignedTo = ?1 or assetId in ?2", employeeId, assetIds);
+    }
+    
+    /**
+     * {@link #findForEmployee} for many employees in one query, grouped by employee id.
+     * Keys of assetIdsByEmployee are the employees; a peripheral assigned to one employee and linked to
+     * another's asset is listed under both.
+     */
+    public Map<String, List<Peripheral>> findForEmployees(Map<String, List<Long>> assetIdsByEmployee) {
+        if (assetIdsByEmployee.isEmpty()) {
+            return Map.of();
+        }
+        Map<Long, String> assetOwners = new HashMap<>();
+        assetIdsByEmployee.forEach((employeeId, assetIds) -> assetIds.forEach(id -> assetOwners.put(id, employeeId)));
+        List<Peripheral> peripherals = assetOwners.isEmpty()
+            ? list("assignedTo in ?1", assetIdsByEmployee.keySet())
+            : list("assignedTo in ?1 or assetId in ?2", assetIdsByEmployee.keySet(), assetOwners.keySet());
+        
+        Map<String, List<Peripheral>> byEmployee = new HashMap<>();
+        for (Peripheral p : peripherals) {
+            String assignee = p.assignedTo != null && assetIdsByEmployee.containsKey(p.assignedTo) ? p.assignedTo : null;
+            String assetOwner = p.assetId != null ? assetOwners.get(p.assetId) : null;
+            if (assignee != null) {
+                byEmployee.computeIfAbsent(assignee, k -> new ArrayList<>()).add(p);
+            }
+            if (assetOwner != null && !assetOwner.equals(assignee)) {
+                byEmployee.computeIfAbsent(assetOwner, k -> new ArrayList<>()).add(p);
+            }
+        }
+        return byEmployee;
     }
     
     public List<Peripheral> findByAssignedTo(String employeeId) {
         return find("assignedTo", employeeId).list();
     }
     
+    /**
+     * Lock the first in-stock peripheral of this type with id above afterId, for the current transaction.
+     * Rows another transaction is already claiming are skipped rather than waited on,
+     * so concurrent assigners each get a different unit without blocking.
+     */
+    public Peripheral claimInstock(PeripheralType type, long afterId) {
+        return find("status = ?1 and type = ?2 and id > ?3", Sort.ascending("id"),
+                PeripheralStatus.Instock, type, afterId)
+            .withLock(LockModeType.PESSIMISTIC_WRITE)
+            .withHint("jakarta.persistence.lock.timeout", SKIP_LOCKED)
+            .firstResult();
+    }
+    
+    /**
+     * Which of the given serial numbers are already on file.
+     */
+    public Set<String> findExistingSerialNumbers(Collection<String> serialNumbers) {
+        if (serialNumbers.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(getEntityManager()
+            .createQuery("select p.serialNumber from Peripheral p where p.serialNumber in :serials", String.class)
+            .setParameter("serials", serialNumbers)
+            .getResultList());
+    }
+    
     public List<Peripheral> findByType(PeripheralType type) {
         return find("type", type).list();
     }
@@ -37,6 +131,20 @@ public class PeripheralRepository implements PanacheRepository<Peripheral> {
         return find("verified", false).list();
     }
     
+    /**
+     * Set-based verification of the given ids; returns the number of rows updated.
+     */
+    public int markVerifiedByIds(Collection<Long> ids, LocalDate verifiedDate) {
+        return update("verified = true, verifiedDate = ?1 where id in ?2", verifiedDate, ids);
+    }
+    
+    /**
+     * Set-based verification of everything assigned to the given employees; returns the number of rows updated.
+     */
+    public int markVerifiedByAssignedTo(Collection<String> employeeIds, LocalDate verifiedDate) {
+        return update("verified = true, verifiedDate = ?1 where assignedTo in ?2", verifiedDate, employeeIds);
+    }
+    
     public long countByAssignedTo(String employeeId) {
         return count("assignedTo", employeeId);
     }
@@ -48,4 +156,36 @@ public class PeripheralRepository implements PanacheRepository<Peripheral> {
     public long countUnverified() {
         return count("verified", false);
     }
+    
+    /**
+     * Peripheral counts per (type, status, verified) in one grouped query.
+     * Each row is [PeripheralType, PeripheralStatus, Boolean verified, Long count].
+     */
+    public List<Object[]> stockMatrix() {
+        return getEntityManager()
+            .createQuery("select p.type, p.status, p.verified, count(p) from Peripheral p "
+                + "group by p.type, p.status, p.verified", Object[].class)
+            .getResultList();
+    }
+    
+    /**
+     * Every [Long id, String serialNumber] pair, for building the serial number index.
+     */
+    public List<Object[]> serialNumbers() {
+        return getEntityManager()
+            .createQuery("select p.id, p.serialNumber from Peripheral p where p.serialNumber is not null", Object[].class)
+            .getResultList();
+    }
+    
+    public KeysetPage<Peripheral> findPage(Long after, Integer limit, PeripheralStatus status,
+                                           PeripheralType type, Boolean verified,
+                                           String location, String assignedTo) {
+        return new KeysetQuery(after, limit)
+            .eq("status", status)
+            .eq("type", type)
+            .eq("verified", verified)
+            .eq("location", location)
+            .eq("assignedTo", assignedTo)
+            .fetch(this, p -> p.id);
+    }
 }
@@ -3,8 +3,12 @@ package org.squadron.repository;
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
 import org.squadron.model.User;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.persistence.CacheRetrieveMode;
 
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @ApplicationScoped
@@ -21,10 +25,52 @@ public class UserRepository implements PanacheRepository<User> {
         return find("email", email).firstResultOptional();
     }
     
+    /**
+     * Login lookup by username or email in one query. A username match wins over another user's email.
+     */
+    public Optional<User> findByLogin(String login) {
+        List<User> matches = list("username = ?1 or email = ?1", login);
+        return matches.stream()
+            .filter(u -> login.equals(u.username))
+            .findFirst()
+            .or(() -> matches.stream().findFirst());
+    }
+    
+    /**
+     * Load by id from the database rather than the second-level cache, for checks that must see
+     * changes made on other nodes (deactivation by the HR sync, role changes).
+     */
+    public User findByIdUncached(Long id) {
+        return getEntityManager().find(User.class, id,
+            Map.of("jakarta.persistence.cache.retrieveMode", CacheRetrieveMode.BYPASS));
+    }
+    
     public User findByEmployeeId(String employeeId) {
         return find("employeeId", employeeId).firstResult();
     }
     
+    public Map<Long, User> findByIds(Collection<Long> ids) {
+        Map<Long, User> byId = new HashMap<>();
+        if (ids.isEmpty()) {
+            return byId;
+        }
+        for (User user : list("id in ?1", ids)) {
+            byId.put(user.id, user);
+        }
+        return byId;
+    }
+    
+    public Map<String, User> findByEmployeeIds(Collection<String> employeeIds) {
+        Map<String, User> byEmployeeId = new HashMap<>();
+        if (employeeIds.isEmpty()) {
+            return byEmployeeId;
+        }
+        for (User user : list("employeeId in ?1", employeeIds)) {
+            byEmployeeId.put(user.employeeId, user);
+        }
+        return byEmployeeId;
+    }
+    
     public List<User> findByDepartment(String department) {
         return list("department", department);
     }
@@ -38,4 +84,34 @@ public class UserRepository implements PanacheRepository<User> {
             .createQuery("SELECT DISTINCT u.department FROM User u WHERE u.department IS NOT NULL", String.class)
             .getResultList();
     }
+    
+    /**
+     * id, employeeId, name, email, department of every active user, for the employee directory.
+     */
+    public List<Object[]> directoryRows() {
+        return getEntityManager()
+            .createQuery("SELECT u.id, u.employeeId, u.name, u.email, u.department FROM User u WHERE u.active = true", Object[].class)
+            .getResultList();
+    }
+    
+    /**
+     * The fields an HR directory sync compares, for every user with an employeeId.
+     */
+    public List<Object[]> syncRows() {
+        return getEntityManager()
+            .createQuery("SELECT u.id, u.employeeId, u.username, u.name, u.email, u.phone, u.department, u.role, u.active"
+                + " FROM User u WHERE u.employeeId IS NOT NULL", Object[].class)
+            .getResultList();
+    }
+    
+    public int deactivate(Collection<Long> ids) {
+        return update("active = false where id in ?1 and active = true", ids);
+    }
+    
+    public KeysetPage<User> findPage(Long after, Integer limit, String role, String department) {
+        return new KeysetQuery(after, limit)
+            .eq("role", role)
+            .eq("department", department)
+            .fetch(this, u -> u.id);
+    }
 }
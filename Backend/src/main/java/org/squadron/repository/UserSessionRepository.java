@@ -0,0 +1,52 @@
+package org.squadron.repository;
+
+import io.quarkus.hibernate.orm.panache.PanacheRepository;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.squadron.model.UserSession;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@ApplicationScoped
+public class UserSessionRepository implements PanacheRepository<UserSession> {
+    
+    public Optional<Long> findUserIdBySid(String sid) {
+        return getEntityManager()
+            .createQuery("select s.userId from UserSession s where s.sid = ?1", Long.class)
+            .setParameter(1, sid)
+            .getResultStream()
+            .findFirst();
+    }
+    
+    /**
+     * Record an access to the session unless it has been idle since the cutoff. Returns the number
+     * of sessions updated, so 0 means the session is unknown or expired.
+     */
+    public int touch(String sid, LocalDateTime lastAccess, LocalDateTime idleCutoff) {
+        return update("lastAccess = ?1 where sid = ?2 and lastAccess >= ?3", lastAccess, sid, idleCutoff);
+    }
+    
+    public long deleteBySid(String sid) {
+        return delete("sid", sid);
+    }
+    
+    public long deleteIdleSince(LocalDateTime cutoff) {
+        return delete("lastAccess < ?1", cutoff);
+    }
+    
+    /**
+     * Delete the least recently used sessions beyond maxSize.
+     */
+    public long trimTo(long maxSize) {
+        long excess = count() - maxSize;
+        if (excess <= 0) {
+            return 0;
+        }
+        List<Long> oldest = getEntityManager()
+            .createQuery("select s.id from UserSession s order by s.lastAccess", Long.class)
+            .setMaxResults((int) Math.min(excess, Integer.MAX_VALUE))
+            .getResultList();
+        return delete("id in ?1", oldest);
+    }
+}
@@ -0,0 +1,51 @@
+package org.squadron.repository;
+
+import io.quarkus.hibernate.orm.panache.common.ProjectedFieldName;
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import org.squadron.model.HardwareAsset.AssetType;
+import org.squadron.model.VerificationRecord.ExceptionType;
+import org.squadron.model.VerificationRecord.VerificationStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only verification record projection for exports: the exported columns only, so scrolling
+ * a campaign never loads uploaded images or the peripheral JSON columns.
+ */
+@RegisterForReflection
+public class VerificationExportRow {
+    
+    public final Long id;
+    public final Long campaignId;
+    public final String employeeId;
+    public final String employeeName;
+    public final Long assetId;
+    public final String serviceTag;
+    public final AssetType assetType;
+    public final VerificationStatus status;
+    public final String recordedServiceTag;
+    public final ExceptionType exceptionType;
+    public final String comment;
+    public final LocalDateTime submittedDate;
+    public final String reviewedBy;
+    
+    public VerificationExportRow(Long id, @ProjectedFieldName("campaign.id") Long campaignId,
+                                 String employeeId, String employeeName, Long assetId, String serviceTag,
+                                 AssetType assetType, VerificationStatus status, String recordedServiceTag,
+                                 ExceptionType exceptionType, String comment, LocalDateTime submittedDate,
+                                 String reviewedBy) {
+        this.id = id;
+        this.campaignId = campaignId;
+        this.employeeId = employeeId;
+        this.employeeName = employeeName;
+        this.assetId = assetId;
+        this.serviceTag = serviceTag;
+        this.assetType = assetType;
+        this.status = status;
+        this.recordedServiceTag = recordedServiceTag;
+        this.exceptionType = exceptionType;
+        this.comment = comment;
+        this.submittedDate = submittedDate;
+        this.reviewedBy = reviewedBy;
+    }
+}
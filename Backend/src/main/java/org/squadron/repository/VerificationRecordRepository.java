@@ -3,9 +3,12 @@ package org.squadron.repository;
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
 import org.squadron.model.VerificationRecord;
 import org.squadron.model.VerificationRecord.VerificationStatus;
+import org.squadron.model.HardwareAsset;
 import jakarta.enterprise.context.ApplicationScoped;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @ApplicationScoped
 public class VerificationRecordRepository implements PanacheRepository<VerificationRecord> {
@@ -55,4 +58,45 @@ public class VerificationRecordRepository implements PanacheRepository<Verificat
             .setParameter("status", VerificationStatus.Pending)
             .getResultList();
     }
+    
+    /**
+     * id, employeeId, name, email, department of each active user with a pending record in the campaign,
+     * in one query however many records each employee has.
+     */
+    public List<Object[]> findPendingEmployeeRows(Long campaignId) {
+        return getEntityManager()
+            .createQuery("select u.id, u.employeeId, u.name, u.email, u.department from User u"
+                + " where u.active = true and exists (select 1 from VerificationRecord vr"
+                + " where vr.employeeId = u.employeeId and vr.campaign.id = :cid and vr.status = :status)"
+                + " order by u.employeeId", Object[].class)
+            .setParameter("cid", campaignId)
+            .setParameter("status", VerificationStatus.Pending)
+            .getResultList();
+    }
+    
+    /**
+     * Pending record count per employee in the campaign, grouped in SQL.
+     */
+    public Map<String, Long> countPendingByEmployee(Long campaignId) {
+        Map<String, Long> counts = new HashMap<>();
+        getEntityManager()
+            .createQuery("select vr.employeeId, count(vr) from VerificationRecord vr"
+                + " where vr.campaign.id = :cid and vr.status = :status group by vr.employeeId", Object[].class)
+            .setParameter("cid", campaignId)
+            .setParameter("status", VerificationStatus.Pending)
+            .getResultList()
+            .forEach(row -> counts.put((String) row[0], (Long) row[1]));
+        return counts;
+    }
+    
+    public KeysetPage<VerificationRecord> findPage(Long after, Integer limit, Long campaignId,
+                                                   VerificationStatus status, String employeeId,
+                                                   HardwareAsset.AssetType assetType) {
+        return new KeysetQuery(after, limit)
+            .eq("campaign.id", campaignId)
+            .eq("status", status)
+            .eq("employeeId", employeeId)
+            .eq("assetType", assetType)
+            .fetch(this, r -> r.id);
+    }
 }
@@ -1,14 +1,29 @@
 package org.squadron.resource;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.smallrye.common.annotation.Blocking;
+import io.vertx.core.http.HttpServerRequest;
 import jakarta.inject.Inject;
 import jakarta.ws.rs.*;
 import jakarta.ws.rs.core.*;
+import org.squadron.auth.CurrentUser;
+import org.squadron.auth.JwtService;
+import org.squadron.auth.JwtService.Claims;
+import org.squadron.auth.LoginThrottle;
+import org.squadron.auth.PrincipalResolver;
+import org.squadron.auth.Public;
+import org.squadron.auth.Roles;
 import org.squadron.model.User;
 import org.squadron.service.UserService;
 import org.squadron.service.SessionService;
 
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.RejectedExecutionException;
 
 @Path("/api/auth")
 @Produces(MediaType.APPLICATION_JSON)
@@ -21,6 +36,24 @@ public class AuthResource {
     @Inject
     SessionService sessionService;
 
+    @Inject
+    JwtService jwtService;
+
+    @Inject
+    CurrentUser currentUser;
+
+    @Inject
+    PrincipalResolver principalResolver;
+
+    @Inject
+    LoginThrottle loginThrottle;
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    static final String ACCESS_COOKIE = "access_token";
+    static final String REFRESH_COOKIE = "refresh_token";
+
     public static class LoginRequest {
         public String username;
         public String password;
@@ -37,35 +70,115 @@ public class AuthResource {
         public String employeeId;
     }
 
+    /**
+     * Attempts are limited per client IP and per account by {@link LoginThrottle}, and the password
+     * check runs on the BCrypt pool, so this worker is released while it runs. Latency is recorded
+     * as auth.login tagged by outcome; every non-success outcome also counts in auth.login.rejected.
+     */
     @POST
+    @Public
+    @Blocking
     @Path("/login")
-    public Response login(LoginRequest req, @Context UriInfo uriInfo) {
+    public CompletionStage<Response> login(LoginRequest req, @Context HttpServerRequest request) {
         if (req.username == null || req.password == null) {
-            return Response.status(Response.Status.BAD_REQUEST).entity(Map.of("message", "username and password required")).build();
+            return CompletableFuture.completedFuture(Response.status(Response.Status.BAD_REQUEST).entity(Map.of("message", "username and password required")).build());
+        }
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        Optional<LoginThrottle.Rejection> rejection = loginThrottle.tryAttempt(req.username, clientIp(request));
+        if (rejection.isPresent()) {
+            return CompletableFuture.completedFuture(finishLogin(sample, "rate_limited_" + rejection.get().limit(),
+                Response.status(Response.Status.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, Math.max(1, rejection.get().retryAfter().toSeconds()))
+                    .entity(Map.of("message", "Too many login attempts. Try again later."))
+                    .build()));
         }
 
-        Optional<User> opt = userService.authenticate(req.username, req.password);
-        if (opt.isEmpty()) {
-            return Response.status(Response.Status.UNAUTHORIZED).entity(Map.of("message", "Invalid credentials")).build();
+        return userService.authenticate(req.username, req.password).handle((opt, error) -> {
+            if (error != null) {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                if (cause instanceof RejectedExecutionException) {
+                    return finishLogin(sample, "overloaded", Response.status(Response.Status.SERVICE_UNAVAILABLE)
+                        .header(HttpHeaders.RETRY_AFTER, 1)
+                        .entity(Map.of("message", "Login is busy. Try again shortly."))
+                        .build());
+                }
+                System.err.println("[AuthResource] Login failed on server: " + cause);
+                return finishLogin(sample, "error", Response.status(Response.Status.INTERNAL_SERVER_ERROR)
+                    .entity(Map.of("message", "Login failed on server"))
+                    .build());
+            }
+            if (opt.isEmpty()) {
+                loginThrottle.failed(req.username);
+                return finishLogin(sample, "invalid_credentials",
+                    Response.status(Response.Status.UNAUTHORIZED).entity(Map.of("message", "Invalid credentials")).build());
+            }
+            loginThrottle.succeeded(req.username);
+
+            User user = opt.get();
+            
+            // Restrict login to finance and assetManager users only
+            if (!canLogin(user)) {
+                return finishLogin(sample, "forbidden", Response.status(Response.Status.FORBIDDEN)
+                    .entity(Map.of("message", "Access restricted. Only finance and asset manager users are allowed to login."))
+                    .build());
+            }
+            
+            return finishLogin(sample, "success", Response.ok(user).cookie(accessCookie(user), refreshCookie(user)).build());
+        });
+    }
+
+    private Response finishLogin(Timer.Sample sample, String outcome, Response response) {
+        sample.stop(meterRegistry.timer("auth.login", "outcome", outcome));
+        if (!"success".equals(outcome)) {
+            meterRegistry.counter("auth.login.rejected", "reason", outcome).increment();
         }
+        return response;
+    }
 
-        User user = opt.get();
-        
-        // Restrict login to finance and assetManager users only
-        if (!"finance".equals(user.role) && !"assetManager".equals(user.role)) {
-            return Response.status(Response.Status.FORBIDDEN)
-                .entity(Map.of("message", "Access restricted. Only finance and asset manager users are allowed to login."))
-                .build();
+    // Peer address; honours X-Forwarded-For only when quarkus.http.proxy.proxy-address-forwarding is on
+    private static String clientIp(HttpServerRequest request) {
+        return request.remoteAddress() != null ? request.remoteAddress().host() : "unknown";
+    }
+
+    /**
+     * Exchange the refresh token cookie for a new access token. The user is re-read here, so role
+     * changes and deleted accounts take effect at the next refresh.
+     */
+    @POST
+    @Public
+    @Path("/refresh")
+    public Response refresh(@Context HttpHeaders headers) {
+        Cookie refreshCookie = headers.getCookies().get(REFRESH_COOKIE);
+        Optional<Claims> claims = jwtService.verify(refreshCookie != null ? refreshCookie.getValue() : null, JwtService.REFRESH);
+        if (claims.isEmpty()) {
+            return Response.status(Response.Status.UNAUTHORIZED).entity(Map.of("message","Not logged in")).build();
         }
-        
-        String sid = sessionService.createSession(user.id);
+        Optional<User> u = userService.findByIdUncached(claims.get().userId());
+        if (u.isEmpty() || !canLogin(u.get())) {
+            return Response.status(Response.Status.UNAUTHORIZED).entity(Map.of("message","Not logged in")).build();
+        }
+        return Response.ok(Map.of("message", "Token refreshed", "expiresIn", jwtService.accessTtl().toSeconds()))
+            .cookie(accessCookie(u.get()), refreshCookie(u.get()))
+            .build();
+    }
+
+    private static boolean canLogin(User user) {
+        return UserService.canLogin(user);
+    }
 
-        NewCookie cookie = NewCookie.valueOf("sid=" + sid + "; Path=/; HttpOnly; SameSite=Lax");
+    private NewCookie accessCookie(User user) {
+        return NewCookie.valueOf(ACCESS_COOKIE + "=" + jwtService.issueAccessToken(user)
+            + "; Path=/; HttpOnly; SameSite=Lax; Max-Age=" + jwtService.accessTtl().toSeconds());
+    }
 
-        return Response.ok(user).cookie(cookie).build();
+    private NewCookie refreshCookie(User user) {
+        return NewCookie.valueOf(REFRESH_COOKIE + "=" + jwtService.issueRefreshToken(user)
+            + "; Path=/api/auth; HttpOnly; SameSite=Lax; Max-Age=" + jwtService.refreshTtl().toSeconds());
     }
 
     @POST
+    @Roles("assetManager")
     @Path("/register")
     public Response register(RegisterRequest req) {
         System.out.println("[AuthResource] /api/auth/register attempt: username=" + req.username + ", role=" + req.role + ", email=" + req.email);
@@ -89,6 +202,7 @@ public class AuthResource {
     }
 
     @GET
+    @Public
     @Path("/health")
     public Response health() {
         return Response.ok(Map.of("ok", true, "service", "backend")).build();
@@ -96,31 +210,31 @@ public class AuthResource {
 
     @GET
     @Path("/me")
-    public Response me(@Context HttpHeaders headers) {
-        // Read sid cookie
-        Cookie sidCookie = headers.getCookies().get("sid");
-        if (sidCookie == null) return Response.status(Response.Status.UNAUTHORIZED).entity(Map.of("message","Not logged in")).build();
-        String sid = sidCookie.getValue();
-        Optional<Long> userIdOpt = sessionService.getUserId(sid);
-        if (userIdOpt.isEmpty()) return Response.status(Response.Status.UNAUTHORIZED).entity(Map.of("message","Not logged in")).build();
-        Optional<User> u = userService.findById(userIdOpt.get());
-        if (u.isEmpty()) return Response.status(Response.Status.UNAUTHORIZED).entity(Map.of("message","Not logged in")).build();
-        return Response.ok(u.get()).build();
+    public Response me() {
+        // Resolved once per request by AuthFilter, which already answered 401 if nobody is logged in
+        return currentUser.get()
+            .map(principal -> Response.ok(principal.profile()).build())
+            .orElseGet(() -> Response.status(Response.Status.UNAUTHORIZED).entity(Map.of("message","Not logged in")).build());
     }
 
     @POST
+    @Public
     @Path("/logout")
     public Response logout(@Context HttpHeaders headers) {
         Cookie sidCookie = headers.getCookies().get("sid");
         if (sidCookie != null) {
             String sid = sidCookie.getValue();
             sessionService.destroySession(sid);
+            principalResolver.evictSession(sid);
         }
         NewCookie clear = NewCookie.valueOf("sid=; Path=/; HttpOnly; Max-Age=0; SameSite=Lax");
-        return Response.ok(Map.of("message","Logged out")).cookie(clear).build();
+        NewCookie clearAccess = NewCookie.valueOf(ACCESS_COOKIE + "=; Path=/; HttpOnly; Max-Age=0; SameSite=Lax");
+        NewCookie clearRefresh = NewCookie.valueOf(REFRESH_COOKIE + "=; Path=/api/auth; HttpOnly; Max-Age=0; SameSite=Lax");
+        return Response.ok(Map.of("message","Logged out")).cookie(clear, clearAccess, clearRefresh).build();
     }
 
     @GET
+    @Roles("assetManager")
     @Path("/debug/users")
     public Response debugUsers() {
         // For debugging only - list all users
@@ -129,6 +243,7 @@ public class AuthResource {
     }
 
     @GET
+    @Roles("assetManager")
     @Path("/debug/check-user/{username}")
     public Response debugCheckUser(@PathParam("username") String username) {
         var user = userService.findByUsername(username);
@@ -3,14 +3,19 @@ package org.squadron.resource;
 import jakarta.inject.Inject;
 import jakarta.ws.rs.*;
 import jakarta.ws.rs.core.*;
+import org.squadron.auth.Roles;
 import org.squadron.model.Campaign;
 import org.squadron.model.Campaign.CampaignStatus;
-import org.squadron.model.User;
+import org.squadron.model.VerificationRecord;
 import org.squadron.model.VerificationToken;
 import org.squadron.service.CampaignService;
 import org.squadron.service.EmailService;
-import org.squadron.service.UserService;
+import org.squadron.service.EmployeeDirectory;
+import org.squadron.service.EmployeeDirectory.Employee;
+import org.squadron.service.VerificationService;
 import org.squadron.repository.VerificationTokenRepository;
+import org.squadron.repository.CampaignSummary;
+import org.squadron.repository.KeysetPage;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.JsonNode;
 import org.squadron.service.EquipmentService;
@@ -33,7 +38,7 @@ public class CampaignResource {
     EmailService emailService;
     
     @Inject
-    UserService userService;
+    EmployeeDirectory employeeDirectory;
     
     @Inject
     ObjectMapper objectMapper;
@@ -44,12 +49,27 @@ public class CampaignResource {
     // Added: equipment service to map pending employees when tokens are missing
     @Inject
     EquipmentService equipmentService;
+    
+    @Inject
+    VerificationService verificationService;
 
     @GET
-    public List<Campaign> getAll() {
+    public List<CampaignSummary> getAll() {
         return service.findAll();
     }
     
+    /**
+     * Keyset-paginated listing. Pass the returned nextCursor as "after" to fetch the next page.
+     */
+    @GET
+    @Path("/page")
+    public KeysetPage<CampaignSummary> getPage(@QueryParam("after") Long after,
+                                        @QueryParam("limit") Integer limit,
+                                        @QueryParam("status") CampaignStatus status,
+                                        @QueryParam("createdBy") String createdBy) {
+        return service.findPage(after, limit, status, createdBy);
+    }
+    
     @GET
     @Path("/{id}")
     public Response getById(@PathParam("id") Long id) {
@@ -64,19 +84,19 @@ public class CampaignResource {
     
     @GET
     @Path("/active")
-    public List<Campaign> getActive() {
+    public List<CampaignSummary> getActive() {
         return service.findActive();
     }
     
     @GET
     @Path("/status/{status}")
-    public List<Campaign> getByStatus(@PathParam("status") CampaignStatus status) {
+    public List<CampaignSummary> getByStatus(@PathParam("status") CampaignStatus status) {
         return service.findByStatus(status);
     }
     
     @GET
     @Path("/created-by/{userId}")
-    public List<Campaign> getByCreatedBy(@PathParam("userId") String userId) {
+    public List<CampaignSummary> getByCreatedBy(@PathParam("userId") String userId) {
         return service.findByCreatedBy(userId);
     }
     
@@ -86,6 +106,20 @@ public class CampaignResource {
         return service.getStats();
     }
     
+    /**
+     * Verification records of a campaign, keyset-paginated.
+     * Campaign responses no longer embed their records, so this is the only way to list them.
+     */
+    @GET
+    @Path("/{id}/records")
+    public KeysetPage<VerificationRecord> getRecords(@PathParam("id") Long id,
+                                                     @QueryParam("after") Long after,
+                                                     @QueryParam("limit") Integer limit,
+                                                     @QueryParam("status") VerificationRecord.VerificationStatus status,
+                                                     @QueryParam("employeeId") String employeeId) {
+        return verificationService.findPage(after, limit, id, status, employeeId, null);
+    }
+    
     public static class CreateCampaignRequest {
         public String name;
         public String description;
@@ -99,6 +133,7 @@ public class CampaignResource {
     }
     
     @POST
+    @Roles("finance")
     public Response create(CreateCampaignRequest req) {
         Campaign campaign = new Campaign();
         campaign.name = req.name;
@@ -129,6 +164,7 @@ public class CampaignResource {
     }
     
     @PUT
+    @Roles("finance")
     @Path("/{id}")
     public Response update(@PathParam("id") Long id, Campaign campaign) {
         Campaign updated = service.update(id, campaign);
@@ -141,6 +177,7 @@ public class CampaignResource {
     }
     
     @POST
+    @Roles("finance")
     @Path("/{id}/launch")
     public Response launch(@PathParam("id") Long id) {
         Campaign updated = service.launch(id);
@@ -156,6 +193,7 @@ public class CampaignResource {
      * Launch campaign and send verification emails to all employees
      */
     @POST
+    @Roles("finance")
     @Path("/{id}/launch-with-emails")
     @jakarta.transaction.Transactional
     public Response launchWithEmails(@PathParam("id") Long id) {
@@ -170,7 +208,7 @@ public class CampaignResource {
         System.out.println("[CampaignResource] filtersJson: " + campaign.filtersJson);
         
         // Get employees from campaign filters
-        List<User> employees = new ArrayList<>();
+        List<Employee> employees = new ArrayList<>();
         try {
             if (campaign.filtersJson != null) {
                 JsonNode filters = objectMapper.readTree(campaign.filtersJson);
@@ -179,10 +217,10 @@ public class CampaignResource {
                     List<String> teams = new ArrayList<>();
                     teamsNode.forEach(node -> teams.add(node.asText()));
                     System.out.println("[CampaignResource] Teams from filter: " + teams);
-                    employees = userService.findByDepartments(teams);
+                    employees = employeeDirectory.inDepartments(teams);
                     System.out.println("[CampaignResource] Found " + employees.size() + " employees for teams");
-                    for (User emp : employees) {
-                        System.out.println("[CampaignResource]   - " + emp.name + " (" + emp.employeeId + ") - " + emp.email);
+                    for (Employee emp : employees) {
+                        System.out.println("[CampaignResource]   - " + emp.name() + " (" + emp.employeeId() + ") - " + emp.email());
                     }
                 }
             }
@@ -226,6 +264,7 @@ public class CampaignResource {
      * Send reminder emails for pending verifications
      */
     @POST
+    @Roles("finance")
     @Path("/{id}/send-reminders")
     @jakarta.transaction.Transactional
     public Response sendReminders(@PathParam("id") Long id) {
@@ -257,7 +296,7 @@ public class CampaignResource {
             }
         } else {
             // Fallback: no tokens found but records may be pending. Find employees with pending verification records for this campaign.
-            List<User> pendingEmployees = equipmentService.findPendingEmployeesByCampaign(id);
+            List<Employee> pendingEmployees = equipmentService.findPendingEmployeesByCampaign(id);
             System.out.println("[CampaignResource] Fallback pending employees: " + pendingEmployees.size());
 
             // Send fresh verification emails (creating tokens) to these pending employees
@@ -312,6 +351,7 @@ public class CampaignResource {
     }
     
     @POST
+    @Roles("finance")
     @Path("/{id}/complete")
     public Response complete(@PathParam("id") Long id) {
         Campaign updated = service.complete(id);
@@ -324,6 +364,7 @@ public class CampaignResource {
     }
     
     @POST
+    @Roles("finance")
     @Path("/{id}/update-counts")
     public Response updateCounts(@PathParam("id") Long id) {
         Campaign updated = service.updateCounts(id);
@@ -336,6 +377,7 @@ public class CampaignResource {
     }
     
     @DELETE
+    @Roles("finance")
     @Path("/{id}")
     public Response delete(@PathParam("id") Long id) {
         boolean deleted = service.delete(id);
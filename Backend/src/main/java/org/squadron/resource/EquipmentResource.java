@@ -3,9 +3,12 @@ package org.squadron.resource;
 import jakarta.inject.Inject;
 import jakarta.ws.rs.*;
 import jakarta.ws.rs.core.*;
+import org.squadron.auth.Roles;
 import org.squadron.model.EquipmentCount;
 import org.squadron.model.EquipmentCount.EquipmentCategory;
+import org.squadron.model.EquipmentCount.EquipmentStatus;
 import org.squadron.model.EquipmentCount.VerificationStatus;
+import org.squadron.repository.KeysetPage;
 import org.squadron.service.EquipmentService;
 
 import java.math.BigDecimal;
@@ -25,6 +28,20 @@ public class EquipmentResource {
         return service.findAll();
     }
     
+    /**
+     * Keyset-paginated listing. Pass the returned nextCursor as "after" to fetch the next page.
+     */
+    @GET
+    @Path("/page")
+    public KeysetPage<EquipmentCount> getPage(@QueryParam("after") Long after,
+                                              @QueryParam("limit") Integer limit,
+                                              @QueryParam("category") EquipmentCategory category,
+                                              @QueryParam("status") EquipmentStatus status,
+                                              @QueryParam("verificationStatus") VerificationStatus verificationStatus,
+                                              @QueryParam("location") String location) {
+        return service.findPage(after, limit, category, status, verificationStatus, location);
+    }
+    
     @GET
     @Path("/{id}")
     public Response getById(@PathParam("id") Long id) {
@@ -87,8 +104,9 @@ public class EquipmentResource {
     
     @GET
     @Path("/stats")
-    public Map<String, Object> getStats() {
-        return service.getStats();
+    public Map<String, Object> getStats(@QueryParam("location") String location,
+                                        @QueryParam("status") EquipmentStatus status) {
+        return service.getStats(location, status);
     }
     
     public static class CreateEquipmentRequest {
@@ -101,6 +119,7 @@ public class EquipmentResource {
     }
     
     @POST
+    @Roles("assetManager")
     public Response create(CreateEquipmentRequest req) {
         EquipmentCount equipment = new EquipmentCount();
         equipment.category = req.category;
@@ -115,6 +134,7 @@ public class EquipmentResource {
     }
     
     @PUT
+    @Roles("assetManager")
     @Path("/{id}")
     public Response update(@PathParam("id") Long id, EquipmentCount equipment) {
         EquipmentCount updated = service.update(id, equipment);
@@ -131,6 +151,7 @@ public class EquipmentResource {
     }
     
     @POST
+    @Roles("assetManager")
     @Path("/{id}/verify")
     public Response verify(@PathParam("id") Long id, VerifyRequest req) {
         EquipmentCount updated = service.updateVerificationStatus(id, req.status);
@@ -143,6 +164,7 @@ public class EquipmentResource {
     }
     
     @POST
+    @Roles("assetManager")
     @Path("/{id}/archive")
     public Response archive(@PathParam("id") Long id) {
         EquipmentCount updated = service.archive(id);
@@ -155,6 +177,7 @@ public class EquipmentResource {
     }
     
     @DELETE
+    @Roles("assetManager")
     @Path("/{id}")
     public Response delete(@PathParam("id") Long id) {
         boolean deleted = service.delete(id);
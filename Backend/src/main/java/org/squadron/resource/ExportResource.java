@@ -0,0 +1,53 @@
+package org.squadron.resource;
+
+import jakarta.inject.Inject;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.*;
+import org.squadron.auth.Roles;
+import org.squadron.service.ExportService;
+import org.squadron.service.ExportService.Format;
+
+/**
+ * Full-table exports for reconciliation. The response body is written while rows are read,
+ * so large exports start immediately and never sit in server memory.
+ */
+@Roles({"finance", "assetManager"})
+@Path("/api/export")
+public class ExportResource {
+    
+    @Inject
+    ExportService service;
+    
+    @GET
+    @Path("/assets")
+    @Produces({"application/x-ndjson", "text/csv"})
+    public Response exportAssets(@QueryParam("format") @DefaultValue("ndjson") Format format) {
+        StreamingOutput body = out -> service.exportAssets(out, format);
+        return attachment(body, "assets", format);
+    }
+    
+    @GET
+    @Path("/peripherals")
+    @Produces({"application/x-ndjson", "text/csv"})
+    public Response exportPeripherals(@QueryParam("format") @DefaultValue("ndjson") Format format) {
+        StreamingOutput body = out -> service.exportPeripherals(out, format);
+        return attachment(body, "peripherals", format);
+    }
+    
+    @GET
+    @Path("/verification-records")
+    @Produces({"application/x-ndjson", "text/csv"})
+    public Response exportVerificationRecords(@QueryParam("format") @DefaultValue("ndjson") Format format,
+                                              @QueryParam("campaignId") Long campaignId) {
+        StreamingOutput body = out -> service.exportVerificationRecords(out, format, campaignId);
+        String name = campaignId != null ? "verification-records-" + campaignId : "verification-records";
+        return attachment(body, name, format);
+    }
+    
+    private static Response attachment(StreamingOutput body, String name, Format format) {
+        String type = format == Format.csv ? "text/csv; charset=UTF-8" : "application/x-ndjson";
+        return Response.ok(body, type)
+            .header("Content-Disposition", "attachment; filename=\"" + name + "." + format.name() + "\"")
+            .build();
+    }
+}
@@ -3,13 +3,25 @@ package org.squadron.resource;
 import jakarta.inject.Inject;
 import jakarta.ws.rs.*;
 import jakarta.ws.rs.core.*;
+import org.squadron.auth.Roles;
 import org.squadron.model.HardwareAsset;
+import org.squadron.model.HardwareAsset.AssetStatus;
 import org.squadron.model.HardwareAsset.AssetType;
 import org.squadron.model.HardwareAsset.VerificationStatus;
+import org.squadron.repository.KeysetPage;
+import org.squadron.service.AssetImportReport;
 import org.squadron.service.HardwareAssetService;
+import org.squadron.service.HardwareAssetService.Assignment;
+import org.squadron.service.PrefixIndex.Match;
+import org.squadron.service.TagAutocomplete;
 
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 @Path("/api/assets")
 @Produces(MediaType.APPLICATION_JSON)
@@ -19,11 +31,30 @@ public class HardwareAssetResource {
     @Inject
     HardwareAssetService service;
     
+    @Inject
+    TagAutocomplete autocomplete;
+    
     @GET
     public List<HardwareAsset> getAll() {
         return service.findAll();
     }
     
+    /**
+     * Keyset-paginated listing. Pass the returned nextCursor as "after" to fetch the next page.
+     */
+    @GET
+    @Path("/page")
+    public KeysetPage<HardwareAsset> getPage(@QueryParam("after") Long after,
+                                             @QueryParam("limit") Integer limit,
+                                             @QueryParam("status") AssetStatus status,
+                                             @QueryParam("verificationStatus") VerificationStatus verificationStatus,
+                                             @QueryParam("type") AssetType assetType,
+                                             @QueryParam("team") String team,
+                                             @QueryParam("location") String location,
+                                             @QueryParam("assignedTo") String assignedTo) {
+        return service.findPage(after, limit, status, verificationStatus, assetType, team, location, assignedTo);
+    }
+    
     @GET
     @Path("/{id}")
     public Response getById(@PathParam("id") Long id) {
@@ -48,6 +79,15 @@ public class HardwareAssetResource {
         return Response.ok(asset).build();
     }
     
+    /**
+     * Service tags starting with q, ignoring case and separators.
+     */
+    @GET
+    @Path("/autocomplete")
+    public List<Match> autocomplete(@QueryParam("q") String q, @QueryParam("limit") Integer limit) {
+        return autocomplete.serviceTags(q, limit);
+    }
+    
     @GET
     @Path("/instock")
     public List<HardwareAsset> getInstock() {
@@ -72,6 +112,15 @@ public class HardwareAssetResource {
         return service.findByAssignedTo(employeeId);
     }
     
+    @POST
+    @Path("/by-employees")
+    public Map<String, List<HardwareAsset>> getByEmployees(List<String> employeeIds) {
+        if (employeeIds == null || employeeIds.isEmpty()) {
+            return Map.of();
+        }
+        return service.findByEmployeeIds(employeeIds);
+    }
+    
     @GET
     @Path("/type/{assetType}")
     public List<HardwareAsset> getByType(@PathParam("assetType") AssetType assetType) {
@@ -91,12 +140,14 @@ public class HardwareAssetResource {
     }
     
     @POST
+    @Roles("assetManager")
     public Response create(HardwareAsset asset) {
         HardwareAsset created = service.create(asset);
         return Response.status(Response.Status.CREATED).entity(created).build();
     }
     
     @PUT
+    @Roles("assetManager")
     @Path("/{id}")
     public Response update(@PathParam("id") Long id, HardwareAsset asset) {
         HardwareAsset updated = service.update(id, asset);
@@ -114,6 +165,7 @@ public class HardwareAssetResource {
     }
     
     @POST
+    @Roles("assetManager")
     @Path("/{id}/assign")
     public Response assignToEmployee(@PathParam("id") Long id, AssignRequest req) {
         HardwareAsset updated = service.assignToEmployee(id, req.employeeId, req.employeeName);
@@ -125,12 +177,46 @@ public class HardwareAssetResource {
         return Response.ok(updated).build();
     }
     
+    public static class BulkAssignRequest {
+        public List<Assignment> assignments;
+        public boolean reassign;
+    }
+    
+    /**
+     * Assign or reassign many assets in one call. Lines that could not be applied are returned as conflicts.
+     */
+    @POST
+    @Roles("assetManager")
+    @Path("/assign-bulk")
+    public Response bulkAssign(BulkAssignRequest req) {
+        if (req == null || req.assignments == null || req.assignments.isEmpty()) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                .entity(Map.of("message", "No assignments provided"))
+                .build();
+        }
+        List<Map<String, Object>> results = service.bulkAssign(req.assignments, req.reassign);
+        Map<String, Long> byStatus = results.stream()
+            .collect(Collectors.groupingBy(r -> (String) r.get("status"), Collectors.counting()));
+        List<Map<String, Object>> conflicts = results.stream()
+            .filter(r -> "conflict".equals(r.get("status")))
+            .collect(Collectors.toList());
+        return Response.ok(Map.of(
+            "message", "Bulk assignment completed",
+            "total", results.size(),
+            "assigned", byStatus.getOrDefault("assigned", 0L),
+            "reassigned", byStatus.getOrDefault("reassigned", 0L),
+            "unchanged", byStatus.getOrDefault("unchanged", 0L),
+            "conflicts", conflicts
+        )).build();
+    }
+    
     public static class VerifyRequest {
         public VerificationStatus status;
         public String imageUrl;
     }
     
     @POST
+    @Roles("assetManager")
     @Path("/{id}/verify")
     public Response verify(@PathParam("id") Long id, VerifyRequest req) {
         HardwareAsset updated = service.updateVerificationStatus(id, req.status, req.imageUrl);
@@ -143,6 +229,7 @@ public class HardwareAssetResource {
     }
     
     @DELETE
+    @Roles("assetManager")
     @Path("/{id}")
     public Response delete(@PathParam("id") Long id) {
         boolean deleted = service.delete(id);
@@ -156,6 +243,7 @@ public class HardwareAssetResource {
     
     // Bulk import from CSV (ServiceNow format)
     @POST
+    @Roles("assetManager")
     @Path("/bulk-import")
     public Response bulkImport(List<HardwareAsset> assets) {
         if (assets == null || assets.isEmpty()) {
@@ -164,35 +252,32 @@ public class HardwareAssetResource {
                 .build();
         }
         
-        int created = 0;
-        int updated = 0;
-        int errors = 0;
-        
-        for (HardwareAsset asset : assets) {
-            try {
-                // Check if asset already exists by service tag
-                HardwareAsset existing = service.findByServiceTag(asset.serviceTag);
-                if (existing != null) {
-                    // Update existing asset
-                    service.update(existing.id, asset);
-                    updated++;
-                } else {
-                    // Create new asset
-                    service.create(asset);
-                    created++;
-                }
-            } catch (Exception e) {
-                errors++;
-                System.err.println("Error importing asset: " + asset.serviceTag + " - " + e.getMessage());
-            }
+        AssetImportReport report = service.bulkUpsert(assets.iterator());
+        return Response.ok(report).build();
+    }
+    
+    // Streaming CSV import; columns overrides the configured mapping, e.g. serviceTag:asset_tag
+    @POST
+    @Roles("assetManager")
+    @Path("/bulk-import")
+    @Consumes({"text/csv", MediaType.TEXT_PLAIN})
+    public Response bulkImportCsv(InputStream body,
+                                  @QueryParam("columns") String columns,
+                                  @QueryParam("importId") String importId) {
+        Reader reader = new InputStreamReader(body, StandardCharsets.UTF_8);
+        AssetImportReport report = service.importCsv(reader, columns, importId);
+        return Response.ok(report).build();
+    }
+    
+    @GET
+    @Path("/bulk-import/{importId}")
+    public Response getImportProgress(@PathParam("importId") String importId) {
+        AssetImportReport report = service.getImport(importId);
+        if (report == null) {
+            return Response.status(Response.Status.NOT_FOUND)
+                .entity(Map.of("message", "Import not found"))
+                .build();
         }
-        
-        return Response.ok(Map.of(
-            "message", "Import completed",
-            "created", created,
-            "updated", updated,
-            "errors", errors,
-            "total", assets.size()
-        )).build();
+        return Response.ok(report.progress()).build();
     }
 }
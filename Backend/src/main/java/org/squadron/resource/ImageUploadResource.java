@@ -8,6 +8,7 @@ import jakarta.ws.rs.Produces;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.squadron.auth.Public;
 import org.jboss.resteasy.reactive.multipart.FileUpload;
 import org.jboss.resteasy.reactive.RestForm;
 
@@ -20,6 +21,7 @@ import java.util.UUID;
 /**
  * Handle image uploads for asset verification
  */
+@Public
 @jakarta.ws.rs.Path("/api/public/upload")
 @Produces(MediaType.APPLICATION_JSON)
 public class ImageUploadResource {
@@ -3,12 +3,25 @@ package org.squadron.resource;
 import jakarta.inject.Inject;
 import jakarta.ws.rs.*;
 import jakarta.ws.rs.core.*;
+import org.squadron.auth.Roles;
 import org.squadron.model.Peripheral;
 import org.squadron.model.Peripheral.PeripheralType;
+import org.squadron.model.Peripheral.PeripheralStatus;
+import org.squadron.repository.KeysetPage;
 import org.squadron.service.PeripheralService;
+import org.squadron.service.PeripheralService.StockIntake;
+import org.squadron.service.PrefixIndex.Match;
+import org.squadron.service.TagAutocomplete;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 @Path("/api/peripherals")
 @Produces(MediaType.APPLICATION_JSON)
@@ -18,11 +31,41 @@ public class PeripheralResource {
     @Inject
     PeripheralService service;
     
+    @Inject
+    ObjectMapper objectMapper;
+    
+    @Inject
+    TagAutocomplete autocomplete;
+    
     @GET
     public List<Peripheral> getAll() {
         return service.findAll();
     }
     
+    /**
+     * Keyset-paginated listing. Pass the returned nextCursor as "after" to fetch the next page.
+     */
+    @GET
+    @Path("/page")
+    public KeysetPage<Peripheral> getPage(@QueryParam("after") Long after,
+                                          @QueryParam("limit") Integer limit,
+                                          @QueryParam("status") PeripheralStatus status,
+                                          @QueryParam("type") PeripheralType type,
+                                          @QueryParam("verified") Boolean verified,
+                                          @QueryParam("location") String location,
+                                          @QueryParam("assignedTo") String assignedTo) {
+        return service.findPage(after, limit, status, type, verified, location, assignedTo);
+    }
+    
+    /**
+     * Serial numbers starting with q, ignoring case and separators.
+     */
+    @GET
+    @Path("/autocomplete")
+    public List<Match> autocomplete(@QueryParam("q") String q, @QueryParam("limit") Integer limit) {
+        return autocomplete.serialNumbers(q, limit);
+    }
+    
     @GET
     @Path("/{id}")
     public Response getById(@PathParam("id") Long id) {
@@ -41,6 +84,30 @@ public class PeripheralResource {
         return service.findByAssignedTo(employeeId);
     }
     
+    @GET
+    @Path("/asset/{assetId}")
+    public List<Peripheral> getByAsset(@PathParam("assetId") Long assetId) {
+        return service.findByAssetId(assetId);
+    }
+    
+    @POST
+    @Path("/by-assets")
+    public Map<Long, List<Peripheral>> getByAssets(List<Long> assetIds) {
+        if (assetIds == null || assetIds.isEmpty()) {
+            return Map.of();
+        }
+        return service.findByAssetIds(assetIds);
+    }
+    
+    @POST
+    @Path("/by-employees")
+    public Map<String, List<Peripheral>> getByEmployees(List<String> employeeIds) {
+        if (employeeIds == null || employeeIds.isEmpty()) {
+            return Map.of();
+        }
+        return service.findByEmployeeIds(employeeIds);
+    }
+    
     @GET
     @Path("/type/{type}")
     public List<Peripheral> getByType(@PathParam("type") PeripheralType type) {
@@ -77,6 +144,12 @@ public class PeripheralResource {
         return service.getStockByType();
     }
     
+    @GET
+    @Path("/stock/matrix")
+    public Map<String, Map<String, Map<String, Long>>> getStockMatrix() {
+        return service.getStockMatrix();
+    }
+    
     @GET
     @Path("/stats")
     public Map<String, Object> getStats() {
@@ -84,6 +157,7 @@ public class PeripheralResource {
     }
     
     @POST
+    @Roles("assetManager")
     public Response create(Peripheral peripheral) {
         Peripheral created = service.create(peripheral);
         return Response.status(Response.Status.CREATED).entity(created).build();
@@ -96,13 +170,70 @@ public class PeripheralResource {
     }
     
     @POST
+    @Roles("assetManager")
     @Path("/stock/add")
     public Response addToStock(AddToStockRequest req) {
         Peripheral created = service.addToStock(req.type, req.serialNumber, req.location);
         return Response.status(Response.Status.CREATED).entity(created).build();
     }
     
+    /**
+     * Bulk stock intake from a JSON array of {type, serialNumber, location}
+     */
+    @POST
+    @Roles("assetManager")
+    @Path("/stock/bulk")
+    public Response bulkAddToStock(List<StockIntake> lines) {
+        if (lines == null || lines.isEmpty()) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                .entity(Map.of("message", "No peripherals provided"))
+                .build();
+        }
+        return intakeResponse(service.bulkAddToStock(lines.iterator()));
+    }
+    
+    /**
+     * Bulk stock intake from NDJSON, one {type, serialNumber, location} object per line.
+     * Lines are parsed as they are read, so the whole shipment is never held in memory at once.
+     */
+    @POST
+    @Roles("assetManager")
+    @Path("/stock/bulk")
+    @Consumes("application/x-ndjson")
+    public Response bulkAddToStockNdjson(InputStream body) {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        Iterator<StockIntake> lines = reader.lines()
+            .filter(line -> !line.isBlank())
+            .map(this::parseIntakeLine)
+            .iterator();
+        return intakeResponse(service.bulkAddToStock(lines));
+    }
+    
+    private StockIntake parseIntakeLine(String line) {
+        try {
+            return objectMapper.readValue(line, StockIntake.class);
+        } catch (Exception e) {
+            StockIntake invalid = new StockIntake();
+            invalid.parseError = "Invalid line: " + e.getMessage();
+            return invalid;
+        }
+    }
+    
+    private Response intakeResponse(List<Map<String, Object>> results) {
+        Map<String, Long> byStatus = results.stream()
+            .collect(Collectors.groupingBy(r -> (String) r.get("status"), Collectors.counting()));
+        return Response.ok(Map.of(
+            "message", "Stock intake completed",
+            "total", results.size(),
+            "created", byStatus.getOrDefault("created", 0L),
+            "duplicates", byStatus.getOrDefault("duplicate", 0L) + byStatus.getOrDefault("exists", 0L),
+            "errors", byStatus.getOrDefault("error", 0L),
+            "results", results
+        )).build();
+    }
+    
     @PUT
+    @Roles("assetManager")
     @Path("/{id}")
     public Response update(@PathParam("id") Long id, Peripheral peripheral) {
         Peripheral updated = service.update(id, peripheral);
@@ -122,6 +253,7 @@ public class PeripheralResource {
     }
     
     @POST
+    @Roles("assetManager")
     @Path("/assign")
     public Response assign(AssignPeripheralRequest req) {
         Peripheral assigned = service.assignToEmployee(req.type, req.serialNumber, 
@@ -135,6 +267,7 @@ public class PeripheralResource {
     }
     
     @POST
+    @Roles("assetManager")
     @Path("/{id}/return")
     public Response returnToStock(@PathParam("id") Long id) {
         Peripheral returned = service.returnToStock(id);
@@ -147,6 +280,7 @@ public class PeripheralResource {
     }
     
     @POST
+    @Roles("assetManager")
     @Path("/{id}/verify")
     public Response verify(@PathParam("id") Long id) {
         Peripheral updated = service.verify(id);
@@ -163,13 +297,33 @@ public class PeripheralResource {
     }
     
     @POST
+    @Roles("assetManager")
     @Path("/verify-multiple")
     public Response verifyMultiple(VerifyMultipleRequest req) {
         List<Peripheral> updated = service.verifyMultiple(req.ids);
         return Response.ok(updated).build();
     }
     
+    public static class BulkVerifyRequest {
+        public List<Long> ids;
+        public List<String> employeeIds; // verify everything assigned to these employees
+    }
+    
+    @POST
+    @Roles("assetManager")
+    @Path("/verify-bulk")
+    public Response bulkVerify(BulkVerifyRequest req) {
+        if (req == null || ((req.ids == null || req.ids.isEmpty()) && (req.employeeIds == null || req.employeeIds.isEmpty()))) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                .entity(Map.of("message", "ids or employeeIds required"))
+                .build();
+        }
+        int updated = service.bulkVerify(req.ids, req.employeeIds);
+        return Response.ok(Map.of("message", "Peripherals verified", "updated", updated)).build();
+    }
+    
     @DELETE
+    @Roles("assetManager")
     @Path("/{id}")
     public Response delete(@PathParam("id") Long id) {
         boolean deleted = service.delete(id);
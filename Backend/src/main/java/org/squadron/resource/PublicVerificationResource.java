@@ -4,6 +4,7 @@ import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
 import jakarta.ws.rs.*;
 import jakarta.ws.rs.core.*;
+import org.squadron.auth.Public;
 import org.squadron.model.*;
 import org.squadron.repository.VerificationTokenRepository;
 import org.squadron.repository.HardwareAssetRepository;
@@ -21,6 +22,7 @@ import java.util.stream.Collectors;
  * Public API for employee verification (no authentication required)
  * Employees access this via unique token link from email
  */
+@Public
 @Path("/api/public/verify")
 @Produces(MediaType.APPLICATION_JSON)
 @Consumes(MediaType.APPLICATION_JSON)
@@ -73,9 +75,17 @@ public class PublicVerificationResource {
         // Get assigned assets
         List<HardwareAsset> assets = assetRepository.findByAssignedTo(verificationToken.employeeId);
         
-        // Get peripherals for each asset
+        // Get the employee's peripherals (assigned to them or linked to their assets) in one query
+        List<Long> assetIds = assets.stream().map(a -> a.id).collect(Collectors.toList());
+        List<Peripheral> employeePeripherals = peripheralRepository.findForEmployee(verificationToken.employeeId, assetIds);
+        Map<Long, List<Peripheral>> peripheralsByAsset = employeePeripherals.stream()
+            .filter(p -> p.assetId != null)
+            .collect(Collectors.groupingBy(p -> p.assetId));
+        
         List<Map<String, Object>> assetsWithPeripherals = new ArrayList<>();
-        List<String> allPeripherals = new ArrayList<>();
+        List<String> allPeripherals = employeePeripherals.stream()
+            .map(p -> p.type.name())
+            .collect(Collectors.toList());
         
         for (HardwareAsset asset : assets) {
             Map<String, Object> assetData = new HashMap<>();
@@ -85,12 +95,10 @@ public class PublicVerificationResource {
             assetData.put("model", asset.model);
             assetData.put("verificationStatus", asset.verificationStatus);
             
-            List<Peripheral> peripherals = peripheralRepository.findByAssetId(asset.id);
-            List<String> peripheralTypes = peripherals.stream()
+            List<String> peripheralTypes = peripheralsByAsset.getOrDefault(asset.id, List.of()).stream()
                 .map(p -> p.type.name())
                 .collect(Collectors.toList());
             assetData.put("peripherals", peripheralTypes);
-            allPeripherals.addAll(peripheralTypes);
             
             assetsWithPeripherals.add(assetData);
         }
@@ -0,0 +1,45 @@
+package org.squadron.resource;
+
+import jakarta.inject.Inject;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.*;
+import org.squadron.auth.Roles;
+import org.squadron.service.SearchIndex;
+
+import java.util.Map;
+
+@Path("/api/search")
+@Produces(MediaType.APPLICATION_JSON)
+@Consumes(MediaType.APPLICATION_JSON)
+public class SearchResource {
+    
+    @Inject
+    SearchIndex index;
+    
+    /**
+     * Ranked full-text search across assets, peripherals, users, equipment and campaigns,
+     * with facet counts by type, status, team and location.
+     */
+    @GET
+    public Map<String, Object> search(@QueryParam("q") String q,
+                                      @QueryParam("type") String type,
+                                      @QueryParam("status") String status,
+                                      @QueryParam("team") String team,
+                                      @QueryParam("location") String location,
+                                      @QueryParam("limit") Integer limit) {
+        return index.search(q, type, status, team, location, limit);
+    }
+    
+    @POST
+    @Roles("assetManager")
+    @Path("/reindex")
+    public Response reindex() {
+        Map<String, Object> result = index.reindex();
+        if (result == null) {
+            return Response.status(Response.Status.CONFLICT)
+                .entity(Map.of("message", "Reindex already running"))
+                .build();
+        }
+        return Response.ok(result).build();
+    }
+}
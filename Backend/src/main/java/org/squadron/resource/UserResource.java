@@ -1,11 +1,22 @@
 package org.squadron.resource;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.inject.Inject;
 import jakarta.ws.rs.*;
 import jakarta.ws.rs.core.*;
+import org.squadron.auth.Roles;
 import org.squadron.model.User;
+import org.squadron.repository.KeysetPage;
+import org.squadron.service.DirectorySync;
+import org.squadron.service.EmployeeDirectory;
 import org.squadron.service.UserService;
 
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -18,11 +29,32 @@ public class UserResource {
     @Inject
     UserService userService;
     
+    @Inject
+    EmployeeDirectory employeeDirectory;
+    
+    @Inject
+    DirectorySync directorySync;
+    
+    @Inject
+    ObjectMapper objectMapper;
+    
     @GET
     public List<User> getAll() {
         return User.listAll();
     }
     
+    /**
+     * Keyset-paginated listing. "team" filters on department.
+     */
+    @GET
+    @Path("/page")
+    public KeysetPage<User> getPage(@QueryParam("after") Long after,
+                                    @QueryParam("limit") Integer limit,
+                                    @QueryParam("role") String role,
+                                    @QueryParam("team") String team) {
+        return userService.findPage(after, limit, role, team);
+    }
+    
     @GET
     @Path("/{id}")
     public Response getById(@PathParam("id") Long id) {
@@ -89,10 +121,57 @@ public class UserResource {
     @GET
     @Path("/departments")
     public List<String> getAllDepartments() {
-        List<User> users = User.listAll();
-        return users.stream()
-            .map(u -> u.department)
-            .distinct()
-            .toList();
+        return userService.findAllDepartments();
+    }
+    
+    /**
+     * Sync users with an HR feed, keyed by employeeId. Accepts CSV (headers mapped through
+     * app.users.sync.csv.columns, overridable with "columns") or NDJSON, one object per line.
+     * Active users missing from the feed are deactivated unless deactivateMissing=false or the feed
+     * had row errors; finance and asset manager accounts are never deactivated or demoted by the feed.
+     */
+    @POST
+    @Roles("assetManager")
+    @Path("/sync")
+    @Consumes({"text/csv", MediaType.TEXT_PLAIN})
+    public Response syncCsv(InputStream body,
+                            @QueryParam("columns") String columns,
+                            @QueryParam("deactivateMissing") @DefaultValue("true") boolean deactivateMissing) {
+        Reader reader = new InputStreamReader(body, StandardCharsets.UTF_8);
+        return Response.ok(directorySync.syncCsv(reader, columns, deactivateMissing)).build();
+    }
+    
+    @POST
+    @Roles("assetManager")
+    @Path("/sync")
+    @Consumes("application/x-ndjson")
+    public Response syncNdjson(InputStream body,
+                               @QueryParam("deactivateMissing") @DefaultValue("true") boolean deactivateMissing) {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        Iterator<DirectorySync.Entry> rows = reader.lines()
+            .filter(line -> !line.isBlank())
+            .map(this::parseSyncLine)
+            .iterator();
+        return Response.ok(directorySync.sync(rows, deactivateMissing)).build();
+    }
+    
+    private DirectorySync.Entry parseSyncLine(String line) {
+        try {
+            return objectMapper.readValue(line, DirectorySync.Entry.class);
+        } catch (Exception e) {
+            DirectorySync.Entry invalid = new DirectorySync.Entry();
+            invalid.parseError = "Invalid line: " + e.getMessage();
+            return invalid;
+        }
+    }
+    
+    /**
+     * Size, age and hit/miss counters of the in-memory employee directory.
+     */
+    @GET
+    @Roles("assetManager")
+    @Path("/directory/stats")
+    public Map<String, Object> getDirectoryStats() {
+        return employeeDirectory.stats();
     }
 }
@@ -3,10 +3,12 @@ package org.squadron.resource;
 import jakarta.inject.Inject;
 import jakarta.ws.rs.*;
 import jakarta.ws.rs.core.*;
+import org.squadron.auth.Roles;
 import org.squadron.model.VerificationRecord;
 import org.squadron.model.VerificationRecord.VerificationStatus;
 import org.squadron.model.VerificationRecord.ExceptionType;
 import org.squadron.model.HardwareAsset.AssetType;
+import org.squadron.repository.KeysetPage;
 import org.squadron.service.VerificationService;
 
 import java.util.List;
@@ -25,6 +27,20 @@ public class VerificationResource {
         return service.findAll();
     }
     
+    /**
+     * Keyset-paginated listing. Pass the returned nextCursor as "after" to fetch the next page.
+     */
+    @GET
+    @Path("/page")
+    public KeysetPage<VerificationRecord> getPage(@QueryParam("after") Long after,
+                                                  @QueryParam("limit") Integer limit,
+                                                  @QueryParam("campaignId") Long campaignId,
+                                                  @QueryParam("status") VerificationStatus status,
+                                                  @QueryParam("employeeId") String employeeId,
+                                                  @QueryParam("type") AssetType assetType) {
+        return service.findPage(after, limit, campaignId, status, employeeId, assetType);
+    }
+    
     @GET
     @Path("/{id}")
     public Response getById(@PathParam("id") Long id) {
@@ -74,6 +90,7 @@ public class VerificationResource {
     }
     
     @POST
+    @Roles({"finance", "assetManager"})
     public Response create(VerificationRecord record) {
         VerificationRecord created = service.create(record);
         return Response.status(Response.Status.CREATED).entity(created).build();
@@ -89,6 +106,7 @@ public class VerificationResource {
     }
     
     @POST
+    @Roles({"finance", "assetManager"})
     @Path("/campaign")
     public Response createForCampaign(CreateForCampaignRequest req) {
         VerificationRecord created = service.createForCampaign(
@@ -112,6 +130,7 @@ public class VerificationResource {
     }
     
     @POST
+    @Roles({"finance", "assetManager"})
     @Path("/{id}/submit")
     public Response submit(@PathParam("id") Long id, SubmitRequest req) {
         VerificationRecord updated = service.submit(id, 
@@ -134,6 +153,7 @@ public class VerificationResource {
     }
     
     @POST
+    @Roles({"finance", "assetManager"})
     @Path("/{id}/review")
     public Response review(@PathParam("id") Long id, ReviewRequest req) {
         VerificationRecord updated = service.review(id, 
@@ -153,6 +173,7 @@ public class VerificationResource {
     }
     
     @POST
+    @Roles({"finance", "assetManager"})
     @Path("/{id}/exception")
     public Response markException(@PathParam("id") Long id, ExceptionRequest req) {
         VerificationRecord updated = service.markException(id, req.exceptionType, req.comment);
@@ -165,6 +186,7 @@ public class VerificationResource {
     }
     
     @DELETE
+    @Roles({"finance", "assetManager"})
     @Path("/{id}")
     public Response delete(@PathParam("id") Long id) {
         boolean deleted = service.delete(id);
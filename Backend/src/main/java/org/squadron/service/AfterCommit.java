@@ -0,0 +1,50 @@
+package org.squadron.service;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+
+/**
+ * Applies in-memory side effects of a write (stock counters, autocomplete and search indexes, the
+ * employee directory) only once the write is durable.
+ *
+ * With no transaction the change runs at once. Inside a transaction it runs after a successful commit
+ * and is dropped on rollback; a transaction already marked for rollback drops it straight away.
+ */
+@ApplicationScoped
+public class AfterCommit {
+    
+    @Inject
+    TransactionSynchronizationRegistry txRegistry;
+    
+    public void run(Runnable change) {
+        switch (txRegistry.getTransactionStatus()) {
+            case Status.STATUS_NO_TRANSACTION -> change.run();
+            case Status.STATUS_MARKED_ROLLBACK, Status.STATUS_ROLLING_BACK, Status.STATUS_ROLLEDBACK -> {
+            }
+            default -> defer(change);
+        }
+    }
+    
+    private void defer(Runnable change) {
+        try {
+            txRegistry.registerInterposedSynchronization(new Synchronization() {
+                @Override
+                public void beforeCompletion() {
+                }
+                
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == Status.STATUS_COMMITTED) {
+                        change.run();
+                    }
+                }
+            });
+        } catch (IllegalStateException e) {
+            // Too late to register (the transaction is already completing): its outcome can't be followed
+            System.err.println("[AfterCommit] Change dropped, transaction is completing: " + e.getMessage());
+        }
+    }
+}
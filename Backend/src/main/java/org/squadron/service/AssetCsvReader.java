@@ -0,0 +1,180 @@
+package org.squadron.service;
+
+import org.squadron.model.HardwareAsset;
+import org.squadron.model.HardwareAsset.AssetStatus;
+import org.squadron.model.HardwareAsset.AssetType;
+import org.squadron.service.HardwareAssetService.ImportRow;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Turns CSV records into {@link HardwareAsset} rows, one at a time. The header row is resolved
+ * through a field-to-column mapping ("serviceTag:serial_number,model:model,..."); a header named
+ * exactly like the field is accepted as well. Values that cannot be converted are left unset and
+ * reported as warnings against the row; each row carries the fields it did set.
+ */
+class AssetCsvReader implements Iterator<ImportRow> {
+    
+    static final Set<String> FIELDS = Set.of(
+            "serviceTag", "assetType", "model", "invoiceNumber", "poNumber", "cost", "purchaseDate",
+            "assignedTo", "assignedToName", "assignedDate", "status", "location", "team", "isHighValue");
+    
+    private final CsvReader csv;
+    private final AssetImportReport report;
+    private final CsvColumns header;
+    private List<String> pending;
+    private int row;
+    
+    AssetCsvReader(CsvReader csv, Map<String, String> columns, AssetImportReport report) {
+        this.csv = csv;
+        this.report = report;
+        
+        this.header = new CsvColumns(csv, FIELDS, columns, "serviceTag");
+    }
+    
+    /**
+     * Parse "field:column,field:column" for these fields; see {@link CsvColumns#parse}.
+     */
+    static Map<String, String> parseColumns(String spec) {
+        return CsvColumns.parse(spec, FIELDS, "asset");
+    }
+    
+    @Override
+    public boolean hasNext() {
+        if (pending == null) {
+            pending = csv.next();
+        }
+        return pending != null;
+    }
+    
+    @Override
+    public ImportRow next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        List<String> record = pending;
+        pending = null;
+        row++;
+        
+        // Fields this row actually set; an upsert leaves every other field of an existing asset alone
+        Set<String> set = new HashSet<>();
+        HardwareAsset asset = new HardwareAsset();
+        asset.serviceTag = text(record, "serviceTag", set);
+        asset.model = text(record, "model", set);
+        asset.invoiceNumber = text(record, "invoiceNumber", set);
+        asset.poNumber = text(record, "poNumber", set);
+        asset.assignedTo = text(record, "assignedTo", set);
+        asset.assignedToName = text(record, "assignedToName", set);
+        asset.location = text(record, "location", set);
+        asset.team = text(record, "team", set);
+        
+        String value = text(record, "assetType");
+        if (value != null) {
+            asset.assetType = assetType(value);
+            if (asset.assetType != null) {
+                set.add("assetType");
+            } else {
+                warn(asset, "Unknown assetType '" + value + "'");
+            }
+        }
+        value = text(record, "status");
+        if (value != null) {
+            AssetStatus status = status(value);
+            if (status != null) {
+                asset.status = status;
+                set.add("status");
+            } else {
+                warn(asset, "Unknown status '" + value + "', left unchanged (Instock for new assets)");
+            }
+        }
+        value = text(record, "cost");
+        if (value != null) {
+            try {
+                asset.cost = new BigDecimal(value.replaceAll("[^0-9.\\-]", ""));
+                set.add("cost");
+            } catch (NumberFormatException e) {
+                warn(asset, "Invalid cost '" + value + "'");
+            }
+        }
+        asset.purchaseDate = date(record, "purchaseDate", asset, set);
+        asset.assignedDate = date(record, "assignedDate", asset, set);
+        value = text(record, "isHighValue");
+        if (value != null) {
+            String flag = value.toLowerCase(Locale.ROOT);
+            asset.isHighValue = flag.equals("true") || flag.equals("yes") || flag.equals("1");
+            set.add("isHighValue");
+        }
+        return new ImportRow(asset, set);
+    }
+    
+    private String text(List<String> record, String field, Set<String> set) {
+        String value = text(record, field);
+        if (value != null) {
+            set.add(field);
+        }
+        return value;
+    }
+    
+    private String text(List<String> record, String field) {
+        return header.text(record, field);
+    }
+    
+    private LocalDate date(List<String> record, String field, HardwareAsset asset, Set<String> set) {
+        String value = text(record, field);
+        if (value == null) {
+            return null;
+        }
+        try {
+            // ServiceNow exports "yyyy-MM-dd HH:mm:ss"; only the date part is kept
+            LocalDate date = LocalDate.parse(value.length() > 10 ? value.substring(0, 10) : value);
+            set.add(field);
+            return date;
+        } catch (DateTimeParseException e) {
+            warn(asset, "Invalid " + field + " '" + value + "'");
+            return null;
+        }
+    }
+    
+    private void warn(HardwareAsset asset, String reason) {
+        report.addWarning(row, asset.serviceTag, reason);
+    }
+    
+    private static AssetType assetType(String value) {
+        String v = value.toLowerCase(Locale.ROOT);
+        for (AssetType type : AssetType.values()) {
+            if (type.name().equalsIgnoreCase(v)) {
+                return type;
+            }
+        }
+        if (v.contains("laptop") || v.contains("notebook") || v.contains("computer")) {
+            return AssetType.Laptop;
+        }
+        if (v.contains("monitor") || v.contains("display")) {
+            return AssetType.Monitor;
+        }
+        if (v.contains("mobile") || v.contains("phone") || v.contains("tablet")) {
+            return AssetType.Mobile;
+        }
+        return null;
+    }
+    
+    private static AssetStatus status(String value) {
+        String v = value.toLowerCase(Locale.ROOT).replace(" ", "");
+        if (v.equals("instock")) {
+            return AssetStatus.Instock;
+        }
+        if (v.equals("assigned") || v.equals("inuse")) {
+            return AssetStatus.Assigned;
+        }
+        return null;
+    }
+}
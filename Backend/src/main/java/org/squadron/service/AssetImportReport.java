@@ -0,0 +1,84 @@
+package org.squadron.service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Outcome of a bulk asset import: counters, throughput and a per-row error report.
+ * Only the first {@link #MAX_REPORTED_ERRORS} failures are listed in detail so that
+ * a badly formatted file cannot grow the report without bound. Counters are updated
+ * by the importing thread and may be read concurrently through {@link #progress()}.
+ */
+public class AssetImportReport {
+    
+    public static final int MAX_REPORTED_ERRORS = 1000;
+    
+    public String importId;
+    public String message = "Import completed";
+    public volatile boolean finished;
+    public volatile int total;
+    public volatile int created;
+    public volatile int updated;
+    public volatile int errors;
+    public volatile int warnings;
+    public volatile int chunks;
+    public long elapsedMs;
+    public long rowsPerSecond;
+    public List<Map<String, Object>> errorReport = new ArrayList<>();
+    public List<Map<String, Object>> warningReport = new ArrayList<>();
+    
+    final long startNanos = System.nanoTime();
+    
+    void addError(int row, String serviceTag, String reason) {
+        errors++;
+        if (errorReport.size() < MAX_REPORTED_ERRORS) {
+            errorReport.add(entry(row, serviceTag, reason));
+        }
+    }
+    
+    /**
+     * A value that could not be converted and was left empty; the row itself is still imported
+     * unless validation rejects it afterwards.
+     */
+    void addWarning(int row, String serviceTag, String reason) {
+        warnings++;
+        if (warningReport.size() < MAX_REPORTED_ERRORS) {
+            warningReport.add(entry(row, serviceTag, reason));
+        }
+    }
+    
+    private static Map<String, Object> entry(int row, String serviceTag, String reason) {
+        Map<String, Object> entry = new LinkedHashMap<>();
+        entry.put("row", row);
+        entry.put("serviceTag", serviceTag);
+        entry.put("message", reason);
+        return entry;
+    }
+    
+    void finish() {
+        elapsedMs = (System.nanoTime() - startNanos) / 1_000_000;
+        rowsPerSecond = elapsedMs > 0 ? total * 1000L / elapsedMs : total;
+        finished = true;
+    }
+    
+    /**
+     * Counters only, safe to serialize while the import is still running.
+     */
+    public Map<String, Object> progress() {
+        long elapsed = finished ? elapsedMs : (System.nanoTime() - startNanos) / 1_000_000;
+        Map<String, Object> progress = new LinkedHashMap<>();
+        progress.put("importId", importId);
+        progress.put("finished", finished);
+        progress.put("total", total);
+        progress.put("created", created);
+        progress.put("updated", updated);
+        progress.put("errors", errors);
+        progress.put("warnings", warnings);
+        progress.put("chunks", chunks);
+        progress.put("elapsedMs", elapsed);
+        progress.put("rowsPerSecond", elapsed > 0 ? total * 1000L / elapsed : total);
+        return progress;
+    }
+}
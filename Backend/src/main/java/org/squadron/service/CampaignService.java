@@ -7,11 +7,12 @@ import org.squadron.model.Campaign;
 import org.squadron.model.Campaign.CampaignStatus;
 import org.squadron.model.VerificationRecord;
 import org.squadron.model.HardwareAsset;
-import org.squadron.model.User;
 import org.squadron.repository.CampaignRepository;
+import org.squadron.repository.CampaignSummary;
+import org.squadron.repository.KeysetPage;
 import org.squadron.repository.VerificationRecordRepository;
 import org.squadron.repository.HardwareAssetRepository;
-import org.squadron.repository.UserRepository;
+import org.squadron.service.EmployeeDirectory.Employee;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.JsonNode;
 
@@ -34,28 +35,32 @@ public class CampaignService {
     HardwareAssetRepository hardwareAssetRepository;
     
     @Inject
-    UserRepository userRepository;
+    EmployeeDirectory employeeDirectory;
     
     @Inject
     ObjectMapper objectMapper;
     
-    public List<Campaign> findAll() {
-        return repository.listAll();
+    public List<CampaignSummary> findAll() {
+        return repository.findAllSummaries();
+    }
+    
+    public KeysetPage<CampaignSummary> findPage(Long after, Integer limit, CampaignStatus status, String createdBy) {
+        return repository.findPage(after, limit, status, createdBy);
     }
     
     public Campaign findById(Long id) {
         return repository.findById(id);
     }
     
-    public List<Campaign> findActive() {
+    public List<CampaignSummary> findActive() {
         return repository.findActive();
     }
     
-    public List<Campaign> findByStatus(CampaignStatus status) {
+    public List<CampaignSummary> findByStatus(CampaignStatus status) {
         return repository.findByStatus(status);
     }
     
-    public List<Campaign> findByCreatedBy(String userId) {
+    public List<CampaignSummary> findByCreatedBy(String userId) {
         return repository.findByCreatedBy(userId);
     }
     
@@ -78,7 +83,7 @@ public class CampaignService {
     
     @Transactional
     public Campaign update(Long id, Campaign campaign) {
-        Campaign existing = repository.findById(id);
+        Campaign existing = repository.findByIdUncached(id);
         if (existing == null) {
             return null;
         }
@@ -95,7 +100,7 @@ public class CampaignService {
     
     @Transactional
     public Campaign launch(Long id) {
-        Campaign campaign = repository.findById(id);
+        Campaign campaign = repository.findByIdUncached(id);
         if (campaign == null) {
             return null;
         }
@@ -105,7 +110,7 @@ public class CampaignService {
     
     @Transactional
     public Campaign complete(Long id) {
-        Campaign campaign = repository.findById(id);
+        Campaign campaign = repository.findByIdUncached(id);
         if (campaign == null) {
             return null;
         }
@@ -115,7 +120,7 @@ public class CampaignService {
     
     @Transactional
     public Campaign updateCounts(Long id) {
-        Campaign campaign = repository.findById(id);
+        Campaign campaign = repository.findByIdUncached(id);
         if (campaign == null) {
             return null;
         }
@@ -189,23 +194,19 @@ public class CampaignService {
             }
             
             // If no specific employee IDs, get all users (or by department if specified)
-            List<User> targetUsers = new ArrayList<>();
+            List<Employee> targetUsers = new ArrayList<>();
             if (!employeeIds.isEmpty()) {
-                for (String empId : employeeIds) {
-                    User user = userRepository.findByEmployeeId(empId);
-                    if (user != null) {
-                        targetUsers.add(user);
-                    }
-                }
+                targetUsers.addAll(employeeDirectory.findAll(employeeIds).values());
             } else {
                 // If no specific employees, could filter by teams/departments
                 // For now, skip creating records if no employees specified
                 return;
             }
             
-            // For each employee, find their assigned assets matching the asset types
-            for (User user : targetUsers) {
-                List<HardwareAsset> userAssets = hardwareAssetRepository.findByAssignedTo(user.employeeId);
+            // Assigned assets of every target employee in one query, then filter by asset type
+            Map<String, List<HardwareAsset>> assetsByEmployee = hardwareAssetRepository.findByAssignedToIn(employeeIds);
+            for (Employee user : targetUsers) {
+                List<HardwareAsset> userAssets = assetsByEmployee.getOrDefault(user.employeeId(), List.of());
                 
                 for (HardwareAsset asset : userAssets) {
                     // Filter by asset type if specified
@@ -216,8 +217,8 @@ public class CampaignService {
                     // Create verification record
                     VerificationRecord record = new VerificationRecord();
                     record.campaign = campaign;
-                    record.employeeId = user.employeeId;
-                    record.employeeName = user.name;
+                    record.employeeId = user.employeeId();
+                    record.employeeName = user.name();
                     record.assetId = asset.id;
                     record.serviceTag = asset.serviceTag;
                     record.assetType = asset.assetType;
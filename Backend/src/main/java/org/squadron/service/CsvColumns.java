@@ -0,0 +1,80 @@
+package org.squadron.service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Header mapping shared by the CSV readers. Each field is looked up through a field-to-column
+ * mapping ("serviceTag:serial_number,model:model,..."); a header named exactly like the field is
+ * accepted as well. Header matching ignores case and surrounding blanks.
+ */
+class CsvColumns {
+    
+    private final Map<String, Integer> index = new HashMap<>();
+    
+    /**
+     * Read the header row from csv and locate every field in it. The required field must be present.
+     */
+    CsvColumns(CsvReader csv, Set<String> fields, Map<String, String> columns, String required) {
+        List<String> header = csv.next();
+        if (header == null) {
+            throw new IllegalArgumentException("CSV file is empty");
+        }
+        Map<String, Integer> byHeader = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            byHeader.putIfAbsent(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        for (String field : fields) {
+            String column = columns.getOrDefault(field, field);
+            Integer i = byHeader.get(column.toLowerCase(Locale.ROOT));
+            if (i == null) {
+                i = byHeader.get(field.toLowerCase(Locale.ROOT));
+            }
+            if (i != null) {
+                index.put(field, i);
+            }
+        }
+        if (!index.containsKey(required)) {
+            throw new IllegalArgumentException("CSV has no column for " + required + " (expected '"
+                    + columns.getOrDefault(required, required) + "')");
+        }
+    }
+    
+    /**
+     * Parse "field:column,field:column". Unknown fields are rejected so a typo does not silently drop data;
+     * label names the kind of record in that message ("asset", "directory").
+     */
+    static Map<String, String> parse(String spec, Set<String> fields, String label) {
+        Map<String, String> columns = new HashMap<>();
+        if (spec == null || spec.isBlank()) {
+            return columns;
+        }
+        for (String pair : spec.split(",")) {
+            int colon = pair.indexOf(':');
+            if (colon < 0) {
+                throw new IllegalArgumentException("Invalid column mapping '" + pair.trim() + "', expected field:column");
+            }
+            String field = pair.substring(0, colon).trim();
+            if (!fields.contains(field)) {
+                throw new IllegalArgumentException("Unknown " + label + " field '" + field + "' in column mapping");
+            }
+            columns.put(field, pair.substring(colon + 1).trim());
+        }
+        return columns;
+    }
+    
+    /**
+     * Trimmed value of the field in this record, or null when the column is missing or blank.
+     */
+    String text(List<String> record, String field) {
+        Integer i = index.get(field);
+        if (i == null || i >= record.size()) {
+            return null;
+        }
+        String value = record.get(i).trim();
+        return value.isEmpty() ? null : value;
+    }
+}
@@ -0,0 +1,102 @@
+package org.squadron.service;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Minimal streaming RFC 4180 reader: comma separated, double-quoted fields with "" escapes,
+ * quoted line breaks, CRLF or LF line endings. Reads one record at a time, so memory use
+ * depends on the longest record, not on the file.
+ */
+public class CsvReader {
+    
+    private final Reader in;
+    private int pushedBack = -2;
+    private long recordNumber;
+    
+    public CsvReader(Reader in) {
+        this.in = in;
+    }
+    
+    /**
+     * Number of the record last returned by {@link #next()}, starting at 1.
+     */
+    public long recordNumber() {
+        return recordNumber;
+    }
+    
+    /**
+     * Next record, or null at end of input. Blank lines are skipped.
+     */
+    public List<String> next() {
+        try {
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            boolean any = false;
+            int c;
+            while ((c = read()) != -1) {
+                if (recordNumber == 0 && !any && c == '\uFEFF') {
+                    continue; // byte order mark
+                }
+                any = true;
+                if (quoted) {
+                    if (c == '"') {
+                        int following = read();
+                        if (following == '"') {
+                            field.append('"');
+                        } else {
+                            quoted = false;
+                            unread(following);
+                        }
+                    } else {
+                        field.append((char) c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '\r' || c == '\n') {
+                    if (c == '\r') {
+                        int following = read();
+                        if (following != '\n') {
+                            unread(following);
+                        }
+                    }
+                    if (fields.isEmpty() && field.length() == 0) {
+                        any = false;
+                        continue; // blank line
+                    }
+                    break;
+                } else {
+                    field.append((char) c);
+                }
+            }
+            if (!any) {
+                return null;
+            }
+            fields.add(field.toString());
+            recordNumber++;
+            return fields;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    private int read() throws IOException {
+        if (pushedBack != -2) {
+            int c = pushedBack;
+            pushedBack = -2;
+            return c;
+        }
+        return in.read();
+    }
+    
+    private void unread(int c) {
+        pushedBack = c;
+    }
+}
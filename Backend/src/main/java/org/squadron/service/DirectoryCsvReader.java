@@ -0,0 +1,68 @@
+package org.squadron.service;
+
+import org.squadron.service.DirectorySync.Entry;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Turns CSV records of an HR feed into directory {@link Entry} rows, one at a time. The header row
+ * is resolved through a field-to-column mapping ("employeeId:employee_number,name:full_name,...");
+ * a header named exactly like the field is accepted as well.
+ */
+class DirectoryCsvReader implements Iterator<Entry> {
+    
+    static final Set<String> FIELDS = Set.of(
+            "employeeId", "username", "name", "email", "phone", "department", "role");
+    
+    private final CsvReader csv;
+    private final CsvColumns header;
+    private List<String> pending;
+    
+    DirectoryCsvReader(CsvReader csv, Map<String, String> columns) {
+        this.csv = csv;
+        
+        this.header = new CsvColumns(csv, FIELDS, columns, "employeeId");
+    }
+    
+    /**
+     * Parse "field:column,field:column" for these fields; see {@link CsvColumns#parse}.
+     */
+    static Map<String, String> parseColumns(String spec) {
+        return CsvColumns.parse(spec, FIELDS, "directory");
+    }
+    
+    @Override
+    public boolean hasNext() {
+        if (pending == null) {
+            pending = csv.next();
+        }
+        return pending != null;
+    }
+    
+    @Override
+    public Entry next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        List<String> record = pending;
+        pending = null;
+        
+        Entry entry = new Entry();
+        entry.employeeId = text(record, "employeeId");
+        entry.username = text(record, "username");
+        entry.name = text(record, "name");
+        entry.email = text(record, "email");
+        entry.phone = text(record, "phone");
+        entry.department = text(record, "department");
+        entry.role = text(record, "role");
+        return entry;
+    }
+    
+    private String text(List<String> record, String field) {
+        return header.text(record, field);
+    }
+}
@@ -0,0 +1,265 @@
+package org.squadron.service;
+
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.squadron.model.User;
+import org.squadron.repository.UserRepository;
+
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Keeps users in line with an HR feed, keyed by employeeId.
+ *
+ * Current users are read once with a projection and every feed row is compared against them in
+ * memory; only new and changed rows are written, in transactions of app.users.sync.chunk-size rows
+ * with JDBC batching. Active users missing from the feed are deactivated with bulk updates, unless
+ * the feed had row errors (a line that could not be read would otherwise count as a leaver).
+ * Synced accounts get no password, so no BCrypt hashing happens here. The feed never grants a
+ * login-capable role, and never demotes or deactivates a user who already has one. The employee directory is invalidated once at the end instead of per row.
+ */
+@ApplicationScoped
+public class DirectorySync {
+    
+    @Inject
+    UserRepository userRepository;
+    
+    @Inject
+    EmployeeDirectory employeeDirectory;
+    
+    @ConfigProperty(name = "app.users.sync.chunk-size", defaultValue = "500")
+    int chunkSize;
+    
+    @ConfigProperty(name = "app.users.sync.csv.columns")
+    String csvColumns;
+    
+    static final String DEFAULT_ROLE = "employee";
+    
+    /**
+     * One HR feed row. parseError is set when the line itself could not be read.
+     */
+    public static class Entry {
+        public String employeeId;
+        public String username;
+        public String name;
+        public String email;
+        public String phone;
+        public String department;
+        public String role;
+        public String parseError;
+    }
+    
+    private record Current(Long id, String username, String name, String email, String phone,
+                           String department, String role, boolean active) {
+    }
+    
+    private record Change(int row, Entry entry, Long userId) {
+    }
+    
+    /**
+     * Sync from a CSV feed; headers are matched through app.users.sync.csv.columns with per-field
+     * overrides in {@code columnOverrides}.
+     */
+    public DirectorySyncReport syncCsv(Reader csv, String columnOverrides, boolean deactivateMissing) {
+        Map<String, String> columns = DirectoryCsvReader.parseColumns(csvColumns);
+        columns.putAll(DirectoryCsvReader.parseColumns(columnOverrides));
+        return sync(new DirectoryCsvReader(new CsvReader(csv), columns), deactivateMissing);
+    }
+    
+    public DirectorySyncReport sync(Iterator<Entry> rows, boolean deactivateMissing) {
+        DirectorySyncReport report = new DirectorySyncReport();
+        Map<String, Current> current = loadCurrent();
+        Set<String> seen = new HashSet<>();
+        List<Change> chunk = new ArrayList<>(chunkSize);
+        
+        int row = 0;
+        while (rows.hasNext()) {
+            Entry entry = rows.next();
+            row++;
+            report.total++;
+            String problem = validate(entry);
+            if (problem != null) {
+                report.addError(row, entry != null ? entry.employeeId : null, problem);
+                continue;
+            }
+            if (!seen.add(entry.employeeId)) {
+                report.addWarning(row, entry.employeeId, "Duplicate employeeId, row ignored");
+                continue;
+            }
+            if (entry.role != null && UserService.LOGIN_ROLES.contains(entry.role)) {
+                report.addWarning(row, entry.employeeId, "Role '" + entry.role + "' cannot be granted by the HR feed, ignored");
+                entry.role = null;
+            }
+            Current existing = current.get(entry.employeeId);
+            if (existing != null && isLoginAccount(existing) && entry.role != null && !entry.role.equals(existing.role())) {
+                report.addWarning(row, entry.employeeId, "Role of login account '" + existing.role() + "' is not changed by the HR feed");
+                entry.role = null;
+            }
+            if (existing == null) {
+                if (entry.name == null) {
+                    report.addError(row, entry.employeeId, "name is required for a new employee");
+                    continue;
+                }
+            } else if (!differs(existing, entry)) {
+                report.unchanged++;
+                continue;
+            }
+            chunk.add(new Change(row, entry, existing != null ? existing.id() : null));
+            if (chunk.size() == chunkSize) {
+                applyChunk(chunk, report);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            applyChunk(chunk, report);
+        }
+        
+        if (deactivateMissing) {
+            if (seen.isEmpty()) {
+                report.message = "Feed had no valid rows; nobody was deactivated";
+            } else if (report.errors > 0) {
+                report.message = "Feed had " + report.errors + " errors; nobody was deactivated";
+            } else {
+                List<Long> leavers = new ArrayList<>();
+                for (Map.Entry<String, Current> e : current.entrySet()) {
+                    if (e.getValue().active() && !isLoginAccount(e.getValue()) && !seen.contains(e.getKey())) {
+                        leavers.add(e.getValue().id());
+                    }
+                }
+                deactivate(leavers, report);
+            }
+        }
+        
+        if (report.created + report.updated + report.deactivated > 0) {
+            employeeDirectory.invalidate();
+        }
+        report.finish();
+        System.out.println("[DirectorySync] Sync finished: " + report.total + " rows, " + report.created + " created, "
+                + report.updated + " updated, " + report.unchanged + " unchanged, " + report.deactivated
+                + " deactivated, " + report.errors + " errors in " + report.elapsedMs + " ms");
+        return report;
+    }
+    
+    private Map<String, Current> loadCurrent() {
+        Map<String, Current> current = new HashMap<>();
+        for (Object[] r : userRepository.syncRows()) {
+            current.put((String) r[1], new Current((Long) r[0], (String) r[2], (String) r[3], (String) r[4],
+                    (String) r[5], (String) r[6], (String) r[7], (Boolean) r[8]));
+        }
+        return current;
+    }
+    
+    // Console accounts (finance, asset managers) are managed in the app, not by the HR feed
+    private static boolean isLoginAccount(Current c) {
+        return c.role() != null && UserService.LOGIN_ROLES.contains(c.role());
+    }
+    
+    private static String validate(Entry entry) {
+        if (entry == null) {
+            return "Empty row";
+        }
+        if (entry.parseError != null) {
+            return entry.parseError;
+        }
+        if (entry.employeeId == null || entry.employeeId.isBlank()) {
+            return "employeeId is required";
+        }
+        entry.employeeId = entry.employeeId.trim();
+        return null;
+    }
+    
+    // Fields absent from the feed keep their current value
+    private static boolean differs(Current c, Entry e) {
+        return !c.active()
+                || changed(c.username(), e.username)
+                || changed(c.name(), e.name)
+                || changed(c.email(), e.email)
+                || changed(c.phone(), e.phone)
+                || changed(c.department(), e.department)
+                || changed(c.role(), e.role);
+    }
+    
+    private static boolean changed(String current, String incoming) {
+        return incoming != null && !Objects.equals(current, incoming);
+    }
+    
+    private void applyChunk(List<Change> chunk, DirectorySyncReport report) {
+        int[] counts = new int[2]; // created, updated
+        try {
+            QuarkusTransaction.requiringNew().run(() -> {
+                List<Long> ids = new ArrayList<>();
+                for (Change change : chunk) {
+                    if (change.userId() != null) {
+                        ids.add(change.userId());
+                    }
+                }
+                Map<Long, User> existing = userRepository.findByIds(ids);
+                for (Change change : chunk) {
+                    User user = change.userId() != null ? existing.get(change.userId()) : null;
+                    if (user == null) {
+                        user = new User();
+                        user.username = username(change.entry());
+                        user.role = DEFAULT_ROLE;
+                        copyFields(user, change.entry());
+                        userRepository.persist(user);
+                        counts[0]++;
+                    } else {
+                        copyFields(user, change.entry());
+                        counts[1]++;
+                    }
+                }
+                userRepository.flush();
+                userRepository.getEntityManager().clear();
+            });
+            report.created += counts[0];
+            report.updated += counts[1];
+        } catch (Exception e) {
+            System.err.println("[DirectorySync] Chunk starting at row " + chunk.get(0).row() + " failed: " + e.getMessage());
+            for (Change change : chunk) {
+                report.addError(change.row(), change.entry().employeeId, "Chunk rolled back: " + e.getMessage());
+            }
+        }
+    }
+    
+    private static void copyFields(User user, Entry entry) {
+        user.employeeId = entry.employeeId;
+        if (entry.username != null) user.username = entry.username;
+        if (entry.name != null) user.name = entry.name;
+        if (entry.email != null) user.email = entry.email;
+        if (entry.phone != null) user.phone = entry.phone;
+        if (entry.department != null) user.department = entry.department;
+        if (entry.role != null) user.role = entry.role;
+        user.active = true;
+    }
+    
+    private static String username(Entry entry) {
+        if (entry.username != null) {
+            return entry.username;
+        }
+        if (entry.email != null && entry.email.indexOf('@') > 0) {
+            return entry.email.substring(0, entry.email.indexOf('@'));
+        }
+        return entry.employeeId;
+    }
+    
+    private void deactivate(List<Long> leavers, DirectorySyncReport report) {
+        for (int from = 0; from < leavers.size(); from += chunkSize) {
+            List<Long> ids = leavers.subList(from, Math.min(from + chunkSize, leavers.size()));
+            try {
+                report.deactivated += QuarkusTransaction.requiringNew().call(() -> userRepository.deactivate(ids));
+            } catch (Exception e) {
+                System.err.println("[DirectorySync] Deactivating " + ids.size() + " leavers failed: " + e.getMessage());
+                report.addError(0, null, "Deactivating " + ids.size() + " leavers failed: " + e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package org.squadron.service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Outcome of an HR directory sync. Rows that match the current user exactly are counted as
+ * unchanged and never written. Only the first {@link #MAX_REPORTED_ERRORS} problems are listed.
+ */
+public class DirectorySyncReport {
+    
+    public static final int MAX_REPORTED_ERRORS = 1000;
+    
+    public String message = "Directory sync completed";
+    public int total;
+    public int created;
+    public int updated;
+    public int unchanged;
+    public int deactivated;
+    public int errors;
+    public int warnings;
+    public long elapsedMs;
+    public List<Map<String, Object>> errorReport = new ArrayList<>();
+    public List<Map<String, Object>> warningReport = new ArrayList<>();
+    
+    final long startNanos = System.nanoTime();
+    
+    void addError(int row, String employeeId, String reason) {
+        errors++;
+        if (errorReport.size() < MAX_REPORTED_ERRORS) {
+            errorReport.add(entry(row, employeeId, reason));
+        }
+    }
+    
+    void addWarning(int row, String employeeId, String reason) {
+        warnings++;
+        if (warningReport.size() < MAX_REPORTED_ERRORS) {
+            warningReport.add(entry(row, employeeId, reason));
+        }
+    }
+    
+    private static Map<String, Object> entry(int row, String employeeId, String reason) {
+        Map<String, Object> entry = new LinkedHashMap<>();
+        entry.put("row", row);
+        entry.put("employeeId", employeeId);
+        entry.put("message", reason);
+        return entry;
+    }
+    
+    void finish() {
+        elapsedMs = (System.nanoTime() - startNanos) / 1_000_000;
+    }
+}
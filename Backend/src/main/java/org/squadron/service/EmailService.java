@@ -10,10 +10,13 @@ import org.squadron.model.*;
 import org.squadron.repository.VerificationTokenRepository;
 import org.squadron.repository.HardwareAssetRepository;
 import org.squadron.repository.PeripheralRepository;
+import org.squadron.service.EmployeeDirectory.Employee;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import java.util.List;
+import java.util.Map;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.stream.Collectors;
 
 @ApplicationScoped
@@ -54,6 +57,17 @@ public class EmailService {
             return null;
         }
         
+        List<Long> assetIds = assets.stream().map(a -> a.id).collect(Collectors.toList());
+        List<Peripheral> peripherals = peripheralRepository.findForEmployee(employeeId, assetIds);
+        return sendVerificationEmail(employeeId, employeeName, employeeEmail, campaign, assets, peripherals);
+    }
+    
+    /**
+     * Send verification email with the employee's assets and peripherals already loaded
+     */
+    private VerificationToken sendVerificationEmail(String employeeId, String employeeName,
+                                                    String employeeEmail, Campaign campaign,
+                                                    List<HardwareAsset> assets, List<Peripheral> peripherals) {
         // Get asset IDs as JSON
         List<Long> assetIds = assets.stream().map(a -> a.id).collect(Collectors.toList());
         String assetIdsJson;
@@ -87,8 +101,8 @@ public class EmailService {
         
         // Build email content
         String subject = "Action Required: Asset Verification for " + campaign.name;
-        String htmlContent = buildVerificationEmailHtml(employeeName, campaign, assets, verificationUrl);
-        String textContent = buildVerificationEmailText(employeeName, campaign, assets, verificationUrl);
+        String htmlContent = buildVerificationEmailHtml(employeeName, campaign, assets, peripherals, verificationUrl);
+        String textContent = buildVerificationEmailText(employeeName, campaign, assets, peripherals, verificationUrl);
         
         try {
             mailer.send(
@@ -108,25 +122,41 @@ public class EmailService {
      * Send bulk verification emails for a campaign
      */
     @Transactional
-    public List<VerificationToken> sendCampaignEmails(Campaign campaign, List<User> employees) {
+    public List<VerificationToken> sendCampaignEmails(Campaign campaign, List<Employee> employees) {
         List<VerificationToken> tokens = new ArrayList<>();
         
         System.out.println("[EmailService] sendCampaignEmails called for campaign: " + campaign.name + " (ID: " + campaign.id + ")");
         System.out.println("[EmailService] Processing " + employees.size() + " employees");
         
-        for (User employee : employees) {
-            System.out.println("[EmailService] Processing employee: " + employee.name + " (" + employee.employeeId + ")");
+        // Assets and peripherals for every employee in one query each instead of one per employee
+        List<String> employeeIds = employees.stream().map(Employee::employeeId).collect(Collectors.toList());
+        Map<String, List<HardwareAsset>> assetsByEmployee = assetRepository.findByAssignedToIn(employeeIds);
+        Map<String, List<Long>> assetIdsByEmployee = new HashMap<>();
+        assetsByEmployee.forEach((employeeId, assets) ->
+            assetIdsByEmployee.put(employeeId, assets.stream().map(a -> a.id).collect(Collectors.toList())));
+        // Same rule as the single-employee path: assigned to them or linked to one of their assets
+        Map<String, List<Peripheral>> peripheralsByEmployee = peripheralRepository.findForEmployees(assetIdsByEmployee);
+        
+        for (Employee employee : employees) {
+            System.out.println("[EmailService] Processing employee: " + employee.name() + " (" + employee.employeeId() + ")");
+            List<HardwareAsset> assets = assetsByEmployee.getOrDefault(employee.employeeId(), List.of());
+            if (assets.isEmpty()) {
+                System.out.println("[EmailService] No token created for " + employee.name() + " (no assets)");
+                continue;
+            }
             VerificationToken token = sendVerificationEmail(
-                employee.employeeId, 
-                employee.name, 
-                employee.email, 
-                campaign
+                employee.employeeId(), 
+                employee.name(), 
+                employee.email(), 
+                campaign,
+                assets,
+                peripheralsByEmployee.getOrDefault(employee.employeeId(), List.of())
             );
             if (token != null) {
-                System.out.println("[EmailService] Created token for " + employee.name + " with campaignId: " + token.campaignId);
+                System.out.println("[EmailService] Created token for " + employee.name() + " with campaignId: " + token.campaignId);
                 tokens.add(token);
             } else {
-                System.out.println("[EmailService] No token created for " + employee.name + " (no assets?)");
+                System.out.println("[EmailService] No token created for " + employee.name() + " (no assets?)");
             }
         }
         
@@ -135,7 +165,8 @@ public class EmailService {
     }
     
     private String buildVerificationEmailHtml(String employeeName, Campaign campaign, 
-                                              List<HardwareAsset> assets, String verificationUrl) {
+                                              List<HardwareAsset> assets, List<Peripheral> peripherals,
+                                              String verificationUrl) {
         StringBuilder html = new StringBuilder();
         html.append("<!DOCTYPE html>");
         html.append("<html><head><style>");
@@ -167,18 +198,32 @@ public class EmailService {
             html.append("</div>");
         }
         
-        // Get peripherals for these assets
+        // Peripherals grouped under the asset they ship with; the rest listed separately
+        Map<Long, List<Peripheral>> byAsset = peripherals.stream()
+            .filter(p -> p.assetId != null)
+            .collect(Collectors.groupingBy(p -> p.assetId));
         for (HardwareAsset asset : assets) {
-            List<Peripheral> peripherals = peripheralRepository.findByAssetId(asset.id);
-            if (!peripherals.isEmpty()) {
+            List<Peripheral> assetPeripherals = byAsset.remove(asset.id);
+            if (assetPeripherals != null) {
                 html.append("<h4>Peripherals for ").append(asset.model).append(":</h4>");
                 html.append("<ul>");
-                for (Peripheral p : peripherals) {
+                for (Peripheral p : assetPeripherals) {
                     html.append("<li>").append(p.type).append("</li>");
                 }
                 html.append("</ul>");
             }
         }
+        List<Peripheral> otherPeripherals = peripherals.stream()
+            .filter(p -> p.assetId == null || byAsset.containsKey(p.assetId))
+            .collect(Collectors.toList());
+        if (!otherPeripherals.isEmpty()) {
+            html.append("<h4>Your Assigned Peripherals:</h4>");
+            html.append("<ul>");
+            for (Peripheral p : otherPeripherals) {
+                html.append("<li>").append(p.type).append("</li>");
+            }
+            html.append("</ul>");
+        }
         
         html.append("<p style='text-align: center;'>");
         html.append("<a href='").append(verificationUrl).append("' class='btn'>Verify My Assets</a>");
@@ -210,7 +255,8 @@ public class EmailService {
     }
     
     private String buildVerificationEmailText(String employeeName, Campaign campaign,
-                                              List<HardwareAsset> assets, String verificationUrl) {
+                                              List<HardwareAsset> assets, List<Peripheral> peripherals,
+                                              String verificationUrl) {
         StringBuilder text = new StringBuilder();
         text.append("Asset Verification Required\n\n");
         text.append("Dear ").append(employeeName).append(",\n\n");
@@ -224,6 +270,14 @@ public class EmailService {
             text.append("  Service Tag: ").append(asset.serviceTag).append("\n\n");
         }
         
+        if (!peripherals.isEmpty()) {
+            text.append("YOUR PERIPHERALS:\n");
+            for (Peripheral p : peripherals) {
+                text.append("- ").append(p.type).append("\n");
+            }
+            text.append("\n");
+        }
+        
         text.append("VERIFY YOUR ASSETS:\n");
         text.append(verificationUrl).append("\n\n");
         
@@ -0,0 +1,207 @@
+package org.squadron.service;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.squadron.model.User;
+import org.squadron.repository.UserRepository;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory employee directory: employeeId to name, email and department, and department to members.
+ *
+ * The whole directory is loaded with one projection query on first use and reloaded when it is older
+ * than app.users.directory.ttl, which bounds staleness from writes on other instances. Local writes go
+ * through {@link UserService}, which reports each changed user after its transaction commits. Reads are
+ * lock-free; loading and applying changes are serialized on the directory and both are idempotent.
+ */
+@ApplicationScoped
+public class EmployeeDirectory {
+    
+    @Inject
+    UserRepository userRepository;
+    
+    @Inject
+    AfterCommit afterCommit;
+    
+    @ConfigProperty(name = "app.users.directory.ttl", defaultValue = "PT10M")
+    Duration ttl;
+    
+    public record Employee(Long userId, String employeeId, String name, String email, String department) {
+        
+        static Employee of(User user) {
+            return new Employee(user.id, user.employeeId, user.name, user.email, user.department);
+        }
+    }
+    
+    private record Snapshot(Map<Long, Employee> byUserId,
+                            Map<String, Employee> byEmployeeId,
+                            Map<String, Set<Long>> byDepartment,
+                            long loadedAt) {
+    }
+    
+    private volatile Snapshot snapshot;
+    
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder updates = new LongAdder();
+    private final LongAdder loads = new LongAdder();
+    private volatile long lastLoadMillis;
+    
+    public Optional<Employee> find(String employeeId) {
+        if (employeeId == null) {
+            return Optional.empty();
+        }
+        Employee employee = current().byEmployeeId().get(employeeId);
+        (employee != null ? hits : misses).increment();
+        return Optional.ofNullable(employee);
+    }
+    
+    /**
+     * Employees for the given ids, in request order. Unknown ids are left out.
+     */
+    public Map<String, Employee> findAll(Collection<String> employeeIds) {
+        Map<String, Employee> byEmployeeId = current().byEmployeeId();
+        Map<String, Employee> found = new LinkedHashMap<>();
+        for (String employeeId : employeeIds) {
+            Employee employee = employeeId != null ? byEmployeeId.get(employeeId) : null;
+            if (employee != null) {
+                found.put(employeeId, employee);
+                hits.increment();
+            } else {
+                misses.increment();
+            }
+        }
+        return found;
+    }
+    
+    public List<Employee> inDepartments(Collection<String> departments) {
+        Snapshot s = current();
+        List<Employee> members = new ArrayList<>();
+        for (String department : new TreeSet<>(departments)) {
+            for (Long userId : s.byDepartment().getOrDefault(department, Set.of())) {
+                Employee employee = s.byUserId().get(userId);
+                if (employee != null) {
+                    members.add(employee);
+                }
+            }
+        }
+        return members;
+    }
+    
+    public List<String> departments() {
+        return new ArrayList<>(new TreeSet<>(current().byDepartment().keySet()));
+    }
+    
+    /**
+     * Record a created or updated user; applied once the surrounding transaction commits. Inactive
+     * users are dropped from the directory.
+     */
+    public void changed(User user) {
+        afterCommit.run(() -> apply(user.id, user.active ? Employee.of(user) : null));
+    }
+    
+    public void removed(Long userId) {
+        afterCommit.run(() -> apply(userId, null));
+    }
+    
+    /**
+     * Drop the directory so the next read reloads it, e.g. after writes that bypassed {@link UserService}.
+     */
+    public void invalidate() {
+        snapshot = null;
+    }
+    
+    public Map<String, Object> stats() {
+        Snapshot s = snapshot;
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("loaded", s != null);
+        stats.put("employees", s != null ? s.byEmployeeId().size() : 0);
+        stats.put("departments", s != null ? s.byDepartment().size() : 0);
+        stats.put("ageSeconds", s != null ? (System.currentTimeMillis() - s.loadedAt()) / 1000 : 0);
+        stats.put("hits", hits.sum());
+        stats.put("misses", misses.sum());
+        stats.put("updates", updates.sum());
+        stats.put("loads", loads.sum());
+        stats.put("lastLoadMillis", lastLoadMillis);
+        return stats;
+    }
+    
+    private Snapshot current() {
+        Snapshot s = snapshot;
+        if (s != null && System.currentTimeMillis() - s.loadedAt() < ttl.toMillis()) {
+            return s;
+        }
+        synchronized (this) {
+            s = snapshot;
+            if (s == null || System.currentTimeMillis() - s.loadedAt() >= ttl.toMillis()) {
+                s = load();
+                snapshot = s;
+            }
+            return s;
+        }
+    }
+    
+    private Snapshot load() {
+        long start = System.nanoTime();
+        Snapshot s = new Snapshot(new ConcurrentHashMap<>(), new ConcurrentHashMap<>(), new ConcurrentHashMap<>(),
+                System.currentTimeMillis());
+        for (Object[] row : userRepository.directoryRows()) {
+            put(s, new Employee((Long) row[0], (String) row[1], (String) row[2], (String) row[3], (String) row[4]));
+        }
+        lastLoadMillis = (System.nanoTime() - start) / 1_000_000;
+        loads.increment();
+        System.out.println("[EmployeeDirectory] Loaded " + s.byUserId().size() + " users in "
+                + s.byDepartment().size() + " departments in " + lastLoadMillis + " ms");
+        return s;
+    }
+    
+    private synchronized void apply(Long userId, Employee employee) {
+        updates.increment();
+        Snapshot s = snapshot;
+        if (s == null) {
+            // Not loaded yet; the first read picks the change up from the database
+            return;
+        }
+        Employee previous = s.byUserId().remove(userId);
+        if (previous != null) {
+            if (previous.employeeId() != null) {
+                s.byEmployeeId().remove(previous.employeeId(), previous);
+            }
+            if (previous.department() != null) {
+                Set<Long> members = s.byDepartment().get(previous.department());
+                if (members != null) {
+                    members.remove(userId);
+                    if (members.isEmpty()) {
+                        s.byDepartment().remove(previous.department());
+                    }
+                }
+            }
+        }
+        if (employee != null) {
+            put(s, employee);
+        }
+    }
+    
+    private static void put(Snapshot s, Employee employee) {
+        s.byUserId().put(employee.userId(), employee);
+        if (employee.employeeId() != null) {
+            s.byEmployeeId().put(employee.employeeId(), employee);
+        }
+        if (employee.department() != null) {
+            s.byDepartment().computeIfAbsent(employee.department(), d -> ConcurrentHashMap.newKeySet())
+                    .add(employee.userId());
+        }
+    }
+}
@@ -8,17 +8,18 @@ import org.squadron.model.EquipmentCount.EquipmentCategory;
 import org.squadron.model.EquipmentCount.EquipmentStatus;
 import org.squadron.model.EquipmentCount.VerificationStatus;
 import org.squadron.repository.EquipmentCountRepository;
+import org.squadron.repository.KeysetPage;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
 import org.squadron.repository.VerificationRecordRepository;
 import org.squadron.model.VerificationRecord;
-import org.squadron.repository.UserRepository;
-import org.squadron.model.User;
-import java.util.stream.Collectors;
+import org.squadron.service.EmployeeDirectory.Employee;
 
 @ApplicationScoped
 public class EquipmentService {
@@ -30,13 +31,16 @@ public class EquipmentService {
     @Inject
     VerificationRecordRepository verificationRecordRepository;
 
-    @Inject
-    UserRepository userRepository;
-
     public List<EquipmentCount> findAll() {
         return repository.listAll();
     }
     
+    public KeysetPage<EquipmentCount> findPage(Long after, Integer limit, EquipmentCategory category,
+                                               EquipmentStatus status, VerificationStatus verificationStatus,
+                                               String location) {
+        return repository.findPage(after, limit, category, status, verificationStatus, location);
+    }
+    
     public EquipmentCount findById(Long id) {
         return repository.findById(id);
     }
@@ -128,48 +132,50 @@ public class EquipmentService {
     }
     
     public Map<String, Object> getStats() {
+        return getStats(null, null);
+    }
+    
+    /**
+     * Quantity and value per category plus totals, from one grouped query.
+     * Totals are rolled up from the per-category rows rather than with SQL ROLLUP, which H2 does not support.
+     */
+    public Map<String, Object> getStats(String location, EquipmentStatus status) {
+        Map<EquipmentCategory, Long> quantities = new EnumMap<>(EquipmentCategory.class);
+        Map<EquipmentCategory, BigDecimal> values = new EnumMap<>(EquipmentCategory.class);
+        long totalQuantity = 0;
+        BigDecimal totalValue = BigDecimal.ZERO;
+        for (Object[] row : repository.sumByCategory(location, status)) {
+            EquipmentCategory category = (EquipmentCategory) row[0];
+            long quantity = ((Number) row[1]).longValue();
+            BigDecimal value = (BigDecimal) row[2];
+            quantities.put(category, quantity);
+            values.put(category, value);
+            totalQuantity += quantity;
+            totalValue = totalValue.add(value);
+        }
+        
         Map<String, Object> stats = new HashMap<>();
         
         // Count by category
-        stats.put("networkCount", sumQuantityByCategory(EquipmentCategory.network));
-        stats.put("serverCount", sumQuantityByCategory(EquipmentCategory.servers));
-        stats.put("audioVideoCount", sumQuantityByCategory(EquipmentCategory.audioVideo));
-        stats.put("furnitureCount", sumQuantityByCategory(EquipmentCategory.furniture));
-        stats.put("otherCount", sumQuantityByCategory(EquipmentCategory.other));
+        stats.put("networkCount", quantities.getOrDefault(EquipmentCategory.network, 0L));
+        stats.put("serverCount", quantities.getOrDefault(EquipmentCategory.servers, 0L));
+        stats.put("audioVideoCount", quantities.getOrDefault(EquipmentCategory.audioVideo, 0L));
+        stats.put("furnitureCount", quantities.getOrDefault(EquipmentCategory.furniture, 0L));
+        stats.put("otherCount", quantities.getOrDefault(EquipmentCategory.other, 0L));
         
         // Value by category
-        stats.put("networkValue", sumValueByCategory(EquipmentCategory.network));
-        stats.put("serverValue", sumValueByCategory(EquipmentCategory.servers));
-        stats.put("audioVideoValue", sumValueByCategory(EquipmentCategory.audioVideo));
-        stats.put("furnitureValue", sumValueByCategory(EquipmentCategory.furniture));
-        stats.put("otherValue", sumValueByCategory(EquipmentCategory.other));
+        stats.put("networkValue", values.getOrDefault(EquipmentCategory.network, BigDecimal.ZERO));
+        stats.put("serverValue", values.getOrDefault(EquipmentCategory.servers, BigDecimal.ZERO));
+        stats.put("audioVideoValue", values.getOrDefault(EquipmentCategory.audioVideo, BigDecimal.ZERO));
+        stats.put("furnitureValue", values.getOrDefault(EquipmentCategory.furniture, BigDecimal.ZERO));
+        stats.put("otherValue", values.getOrDefault(EquipmentCategory.other, BigDecimal.ZERO));
         
         // Totals
-        List<EquipmentCount> all = repository.listAll();
-        int totalQuantity = all.stream().mapToInt(e -> e.quantity).sum();
-        BigDecimal totalValue = all.stream()
-            .filter(e -> e.itemValue != null)
-            .map(e -> e.itemValue)
-            .reduce(BigDecimal.ZERO, BigDecimal::add);
-        
         stats.put("totalQuantity", totalQuantity);
         stats.put("totalValue", totalValue);
         
         return stats;
     }
-    
-    private int sumQuantityByCategory(EquipmentCategory category) {
-        return repository.findByCategory(category).stream()
-            .mapToInt(e -> e.quantity)
-            .sum();
-    }
-    
-    private BigDecimal sumValueByCategory(EquipmentCategory category) {
-        return repository.findByCategory(category).stream()
-            .filter(e -> e.itemValue != null)
-            .map(e -> e.itemValue)
-            .reduce(BigDecimal.ZERO, BigDecimal::add);
-    }
 
     // Added: functions to support mapping of pending employees for current campaign
     public List<VerificationRecord> findPendingVerificationRecordsByCampaign(Long campaignId) {
@@ -180,17 +186,15 @@ public class EquipmentService {
         return verificationRecordRepository.findDistinctPendingEmployeeIdsByCampaignId(campaignId);
     }
 
-    public List<User> findPendingEmployeesByCampaign(Long campaignId) {
-        List<String> employeeIds = findPendingEmployeeIdsByCampaign(campaignId);
-        return employeeIds.stream()
-            .map(userRepository::findByEmployeeId)
-            .filter(u -> u != null)
-            .collect(Collectors.toList());
+    public List<Employee> findPendingEmployeesByCampaign(Long campaignId) {
+        List<Employee> employees = new ArrayList<>();
+        for (Object[] row : verificationRecordRepository.findPendingEmployeeRows(campaignId)) {
+            employees.add(new Employee((Long) row[0], (String) row[1], (String) row[2], (String) row[3], (String) row[4]));
+        }
+        return employees;
     }
 
     public Map<String, Long> getPendingCountByEmployeeForCampaign(Long campaignId) {
-        List<VerificationRecord> pending = findPendingVerificationRecordsByCampaign(campaignId);
-        return pending.stream()
-            .collect(Collectors.groupingBy(vr -> vr.employeeId, Collectors.counting()));
+        return verificationRecordRepository.countPendingByEmployee(campaignId);
     }
 }
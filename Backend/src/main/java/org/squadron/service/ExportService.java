@@ -0,0 +1,207 @@
+package org.squadron.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.quarkus.hibernate.orm.panache.PanacheQuery;
+import io.quarkus.panache.common.Parameters;
+import io.quarkus.panache.common.Sort;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.squadron.model.HardwareAsset;
+import org.squadron.model.Peripheral;
+import org.squadron.repository.HardwareAssetRepository;
+import org.squadron.repository.PeripheralRepository;
+import org.squadron.repository.VerificationExportRow;
+import org.squadron.repository.VerificationRecordRepository;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Streams full tables to an output stream as CSV or NDJSON. Rows are read through a forward-only
+ * cursor (Hibernate scroll with a JDBC fetch size) and entities are detached as soon as they are
+ * written, so memory use does not depend on the number of rows exported. Verification records are
+ * read as a projection of the exported columns.
+ */
+@ApplicationScoped
+public class ExportService {
+    
+    public enum Format {
+        csv, ndjson
+    }
+    
+    private static final int FLUSH_EVERY = 1000;
+    
+    @Inject
+    HardwareAssetRepository assetRepository;
+    
+    @Inject
+    PeripheralRepository peripheralRepository;
+    
+    @Inject
+    VerificationRecordRepository verificationRepository;
+    
+    @Inject
+    ObjectMapper objectMapper;
+    
+    @ConfigProperty(name = "app.export.fetch-size", defaultValue = "1000")
+    int fetchSize;
+    
+    private record Column<T>(String name, Function<T, Object> value) {
+    }
+    
+    private static final List<Column<HardwareAsset>> ASSET_COLUMNS = List.of(
+            new Column<>("id", a -> a.id),
+            new Column<>("serviceTag", a -> a.serviceTag),
+            new Column<>("assetType", a -> a.assetType),
+            new Column<>("model", a -> a.model),
+            new Column<>("invoiceNumber", a -> a.invoiceNumber),
+            new Column<>("poNumber", a -> a.poNumber),
+            new Column<>("cost", a -> a.cost),
+            new Column<>("purchaseDate", a -> a.purchaseDate),
+            new Column<>("assignedTo", a -> a.assignedTo),
+            new Column<>("assignedToName", a -> a.assignedToName),
+            new Column<>("assignedDate", a -> a.assignedDate),
+            new Column<>("status", a -> a.status),
+            new Column<>("verificationStatus", a -> a.verificationStatus),
+            new Column<>("lastVerifiedDate", a -> a.lastVerifiedDate),
+            new Column<>("isHighValue", a -> a.isHighValue),
+            new Column<>("location", a -> a.location),
+            new Column<>("team", a -> a.team));
+    
+    private static final List<Column<Peripheral>> PERIPHERAL_COLUMNS = List.of(
+            new Column<>("id", p -> p.id),
+            new Column<>("type", p -> p.type),
+            new Column<>("serialNumber", p -> p.serialNumber),
+            new Column<>("status", p -> p.status),
+            new Column<>("assignedTo", p -> p.assignedTo),
+            new Column<>("assignedToName", p -> p.assignedToName),
+            new Column<>("assetId", p -> p.assetId),
+            new Column<>("verified", p -> p.verified),
+            new Column<>("assignedDate", p -> p.assignedDate),
+            new Column<>("verifiedDate", p -> p.verifiedDate),
+            new Column<>("purchaseDate", p -> p.purchaseDate),
+            new Column<>("location", p -> p.location));
+    
+    // Uploaded images are left out; they are base64 blobs and would dominate the export
+    private static final List<Column<VerificationExportRow>> RECORD_COLUMNS = List.of(
+            new Column<>("id", r -> r.id),
+            new Column<>("campaignId", r -> r.campaignId),
+            new Column<>("employeeId", r -> r.employeeId),
+            new Column<>("employeeName", r -> r.employeeName),
+            new Column<>("assetId", r -> r.assetId),
+            new Column<>("serviceTag", r -> r.serviceTag),
+            new Column<>("assetType", r -> r.assetType),
+            new Column<>("status", r -> r.status),
+            new Column<>("recordedServiceTag", r -> r.recordedServiceTag),
+            new Column<>("exceptionType", r -> r.exceptionType),
+            new Column<>("comment", r -> r.comment),
+            new Column<>("submittedDate", r -> r.submittedDate),
+            new Column<>("reviewedBy", r -> r.reviewedBy));
+    
+    @Transactional
+    public long exportAssets(OutputStream out, Format format) {
+        PanacheQuery<HardwareAsset> query = assetRepository.findAll(Sort.ascending("id"));
+        return write(scroll(query), ASSET_COLUMNS, format, out, assetRepository.getEntityManager());
+    }
+    
+    @Transactional
+    public long exportPeripherals(OutputStream out, Format format) {
+        PanacheQuery<Peripheral> query = peripheralRepository.findAll(Sort.ascending("id"));
+        return write(scroll(query), PERIPHERAL_COLUMNS, format, out, peripheralRepository.getEntityManager());
+    }
+    
+    @Transactional
+    public long exportVerificationRecords(OutputStream out, Format format, Long campaignId) {
+        PanacheQuery<VerificationExportRow> query = (campaignId != null
+                ? verificationRepository.find("campaign.id = :campaignId", Sort.ascending("id"),
+                        Parameters.with("campaignId", campaignId))
+                : verificationRepository.findAll(Sort.ascending("id")))
+                .project(VerificationExportRow.class);
+        // Projections are not managed, so there is nothing to detach
+        return write(scroll(query), RECORD_COLUMNS, format, out, null);
+    }
+    
+    private <T> Stream<T> scroll(PanacheQuery<T> query) {
+        return query
+                .withHint("org.hibernate.fetchSize", fetchSize)
+                .withHint("org.hibernate.readOnly", true)
+                .stream();
+    }
+    
+    private <T> long write(Stream<T> rows, List<Column<T>> columns, Format format, OutputStream out, EntityManager em) {
+        long count = 0;
+        try (rows) {
+            Iterator<T> it = rows.iterator();
+            if (format == Format.csv) {
+                Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+                for (int i = 0; i < columns.size(); i++) {
+                    writer.write(i == 0 ? "" : ",");
+                    writer.write(columns.get(i).name());
+                }
+                writer.write("\r\n");
+                while (it.hasNext()) {
+                    T row = it.next();
+                    for (int i = 0; i < columns.size(); i++) {
+                        writer.write(i == 0 ? "" : ",");
+                        writer.write(csvValue(columns.get(i).value().apply(row)));
+                    }
+                    writer.write("\r\n");
+                    if (em != null) {
+                        em.detach(row);
+                    }
+                    if (++count % FLUSH_EVERY == 0) {
+                        writer.flush();
+                    }
+                }
+                writer.flush();
+            } else {
+                JsonGenerator json = objectMapper.getFactory().createGenerator(out);
+                json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                while (it.hasNext()) {
+                    T row = it.next();
+                    json.writeStartObject();
+                    for (Column<T> column : columns) {
+                        json.writeObjectField(column.name(), column.value().apply(row));
+                    }
+                    json.writeEndObject();
+                    json.writeRaw('\n');
+                    if (em != null) {
+                        em.detach(row);
+                    }
+                    if (++count % FLUSH_EVERY == 0) {
+                        json.flush();
+                    }
+                }
+                json.flush();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return count;
+    }
+    
+    private static String csvValue(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value instanceof BigDecimal decimal ? decimal.toPlainString() : value.toString();
+        if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+            return '"' + text.replace("\"", "\"\"") + '"';
+        }
+        return text;
+    }
+}
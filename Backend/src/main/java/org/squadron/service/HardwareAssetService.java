@@ -1,30 +1,83 @@
 package org.squadron.service;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.quarkus.cache.CacheInvalidateAll;
+import io.quarkus.cache.CacheResult;
+import io.quarkus.narayana.jta.QuarkusTransaction;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.squadron.model.HardwareAsset;
+import org.squadron.model.User;
 import org.squadron.model.HardwareAsset.AssetStatus;
 import org.squadron.model.HardwareAsset.AssetType;
 import org.squadron.model.HardwareAsset.VerificationStatus;
 import org.squadron.repository.HardwareAssetRepository;
+import org.squadron.repository.KeysetPage;
+import org.squadron.repository.UserRepository;
 
+import java.io.Reader;
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
+import java.util.Set;
+import java.util.UUID;
 
 @ApplicationScoped
 public class HardwareAssetService {
     
+    static final String STATS_CACHE = "asset-stats";
+    
     @Inject
     HardwareAssetRepository repository;
     
+    @Inject
+    UserRepository userRepository;
+    
+    @Inject
+    TagAutocomplete autocomplete;
+    
+    @Inject
+    MeterRegistry meterRegistry;
+    
+    @ConfigProperty(name = "app.assets.import.chunk-size", defaultValue = "500")
+    int importChunkSize;
+    
+    @ConfigProperty(name = "app.assets.import.csv.columns")
+    String csvColumns;
+    
+    @ConfigProperty(name = "app.assets.assign.chunk-size", defaultValue = "500")
+    int assignChunkSize;
+    
+    private static final int TRACKED_IMPORTS = 50;
+    
+    // Running and recently finished imports by id, for progress polling
+    private final Map<String, AssetImportReport> imports = new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, AssetImportReport> eldest) {
+            return size() > TRACKED_IMPORTS;
+        }
+    };
+    
     public List<HardwareAsset> findAll() {
         return repository.listAll();
     }
     
+    public KeysetPage<HardwareAsset> findPage(Long after, Integer limit, AssetStatus status,
+                                              VerificationStatus verificationStatus, AssetType assetType,
+                                              String team, String location, String assignedTo) {
+        return repository.findPage(after, limit, status, verificationStatus, assetType, team, location, assignedTo);
+    }
+    
     public HardwareAsset findById(Long id) {
         return repository.findById(id);
     }
@@ -49,6 +102,10 @@ public class HardwareAssetService {
         return repository.findByAssignedTo(employeeId);
     }
     
+    public Map<String, List<HardwareAsset>> findByEmployeeIds(List<String> employeeIds) {
+        return repository.findByAssignedToIn(employeeIds);
+    }
+    
     public List<HardwareAsset> findByAssetType(AssetType assetType) {
         return repository.findByAssetType(assetType);
     }
@@ -58,17 +115,26 @@ public class HardwareAssetService {
     }
     
     @Transactional
+    @CacheInvalidateAll(cacheName = STATS_CACHE)
     public HardwareAsset create(HardwareAsset asset) {
         repository.persist(asset);
+        autocomplete.serviceTagChanged(asset.id, asset.serviceTag);
         return asset;
     }
     
     @Transactional
+    @CacheInvalidateAll(cacheName = STATS_CACHE)
     public HardwareAsset update(Long id, HardwareAsset asset) {
         HardwareAsset existing = repository.findById(id);
         if (existing == null) {
             return null;
         }
+        copyFields(existing, asset);
+        autocomplete.serviceTagChanged(existing.id, existing.serviceTag);
+        return existing;
+    }
+    
+    private static void copyFields(HardwareAsset existing, HardwareAsset asset) {
         existing.serviceTag = asset.serviceTag;
         existing.assetType = asset.assetType;
         existing.model = asset.model;
@@ -86,10 +152,197 @@ public class HardwareAssetService {
         existing.isHighValue = asset.isHighValue;
         existing.location = asset.location;
         existing.team = asset.team;
-        return existing;
+    }
+    
+    /**
+     * One imported asset and the fields its source actually set. fields is null when the source gives
+     * every field (JSON import); the CSV reader lists only the mapped, non-blank, parseable columns.
+     */
+    record ImportRow(HardwareAsset asset, Set<String> fields) {
+        boolean sets(String field) {
+            return fields == null || fields.contains(field);
+        }
+    }
+    
+    /**
+     * Import counterpart of {@link #copyFields}: copies only the fields the row set, and never the
+     * verification fields, which belong to the verification flow rather than the asset register.
+     */
+    private static void mergeImported(HardwareAsset existing, ImportRow row) {
+        HardwareAsset asset = row.asset();
+        if (row.sets("serviceTag")) existing.serviceTag = asset.serviceTag;
+        if (row.sets("assetType")) existing.assetType = asset.assetType;
+        if (row.sets("model")) existing.model = asset.model;
+        if (row.sets("invoiceNumber")) existing.invoiceNumber = asset.invoiceNumber;
+        if (row.sets("poNumber")) existing.poNumber = asset.poNumber;
+        if (row.sets("cost")) existing.cost = asset.cost;
+        if (row.sets("purchaseDate")) existing.purchaseDate = asset.purchaseDate;
+        if (row.sets("assignedTo")) existing.assignedTo = asset.assignedTo;
+        if (row.sets("assignedToName")) existing.assignedToName = asset.assignedToName;
+        if (row.sets("assignedDate")) existing.assignedDate = asset.assignedDate;
+        if (row.sets("status") && asset.status != null) existing.status = asset.status;
+        if (row.sets("isHighValue")) existing.isHighValue = asset.isHighValue;
+        if (row.sets("location")) existing.location = asset.location;
+        if (row.sets("team")) existing.team = asset.team;
+    }
+    
+    /**
+     * Upsert assets by service tag. Rows are processed in chunks of app.assets.import.chunk-size; each chunk
+     * preloads its existing tags in one query and is written in its own transaction with JDBC batching,
+     * so a bad chunk never rolls back the rows before it. Invalid rows are skipped and reported.
+     */
+    @CacheInvalidateAll(cacheName = STATS_CACHE)
+    public AssetImportReport bulkUpsert(Iterator<HardwareAsset> rows) {
+        return bulkUpsert(new Iterator<ImportRow>() {
+            @Override
+            public boolean hasNext() {
+                return rows.hasNext();
+            }
+            
+            @Override
+            public ImportRow next() {
+                return new ImportRow(rows.next(), null);
+            }
+        }, startImport(null));
+    }
+    
+    /**
+     * Stream a ServiceNow CSV export into {@link #bulkUpsert}. Rows are parsed one at a time, so memory
+     * stays bounded by the chunk size regardless of file size. Headers are matched through
+     * app.assets.import.csv.columns, with per-field overrides in {@code columnOverrides}.
+     */
+    @CacheInvalidateAll(cacheName = STATS_CACHE)
+    public AssetImportReport importCsv(Reader csv, String columnOverrides, String importId) {
+        AssetImportReport report = startImport(importId);
+        Map<String, String> columns = AssetCsvReader.parseColumns(csvColumns);
+        columns.putAll(AssetCsvReader.parseColumns(columnOverrides));
+        return bulkUpsert(new AssetCsvReader(new CsvReader(csv), columns, report), report);
+    }
+    
+    public AssetImportReport getImport(String importId) {
+        synchronized (imports) {
+            return imports.get(importId);
+        }
+    }
+    
+    private AssetImportReport startImport(String importId) {
+        AssetImportReport report = new AssetImportReport();
+        report.importId = importId != null && !importId.isBlank() ? importId : UUID.randomUUID().toString();
+        synchronized (imports) {
+            imports.put(report.importId, report);
+        }
+        return report;
+    }
+    
+    private AssetImportReport bulkUpsert(Iterator<ImportRow> rows, AssetImportReport report) {
+        List<ImportRow> chunk = new ArrayList<>(importChunkSize);
+        while (rows.hasNext()) {
+            chunk.add(rows.next());
+            if (chunk.size() == importChunkSize) {
+                upsertChunk(chunk, report);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            upsertChunk(chunk, report);
+        }
+        report.finish();
+        System.out.println("[HardwareAssetService] Import " + report.importId + " finished: " + report.total
+                + " rows, " + report.created + " created, " + report.updated + " updated, "
+                + report.errors + " errors in " + report.elapsedMs + " ms");
+        return report;
+    }
+    
+    private void upsertChunk(List<ImportRow> chunk, AssetImportReport report) {
+        int firstRow = report.total + 1;
+        report.total += chunk.size();
+        report.chunks++;
+        int[] counts = new int[2]; // created, updated
+        List<Object[]> rejected = new ArrayList<>();
+        try {
+            QuarkusTransaction.requiringNew().run(() -> {
+                Set<String> tags = new HashSet<>();
+                for (ImportRow r : chunk) {
+                    HardwareAsset asset = r.asset();
+                    if (asset != null && asset.serviceTag != null && !asset.serviceTag.isBlank()) {
+                        tags.add(asset.serviceTag);
+                    }
+                }
+                Map<String, HardwareAsset> existingByTag = repository.findByServiceTags(tags);
+                Map<Long, String> createdTags = new HashMap<>();
+                
+                int row = firstRow;
+                for (ImportRow r : chunk) {
+                    HardwareAsset asset = r.asset();
+                    HardwareAsset existing = asset != null ? existingByTag.get(asset.serviceTag) : null;
+                    String problem = validateForImport(asset, existing == null);
+                    if (problem != null) {
+                        rejected.add(new Object[] { row++, asset != null ? asset.serviceTag : null, problem });
+                        continue;
+                    }
+                    row++;
+                    if (existing != null) {
+                        mergeImported(existing, r);
+                        counts[1]++;
+                    } else {
+                        if (asset.status == null) {
+                            asset.status = AssetStatus.Instock;
+                        }
+                        // A new asset starts unverified whatever the source says
+                        asset.verificationStatus = VerificationStatus.NotStarted;
+                        asset.lastVerifiedDate = null;
+                        asset.verificationImage = null;
+                        asset.id = null;
+                        repository.persist(asset);
+                        // A repeated tag later in the chunk updates this row instead of inserting a duplicate
+                        existingByTag.put(asset.serviceTag, asset);
+                        createdTags.put(asset.id, asset.serviceTag);
+                        counts[0]++;
+                    }
+                }
+                autocomplete.serviceTagsChanged(createdTags);
+                repository.flush();
+                repository.getEntityManager().clear();
+            });
+            report.created += counts[0];
+            report.updated += counts[1];
+            for (Object[] r : rejected) {
+                report.addError((Integer) r[0], (String) r[1], (String) r[2]);
+            }
+            System.out.println("[HardwareAssetService] Import " + report.importId + ": " + report.total + " rows processed");
+        } catch (Exception e) {
+            System.err.println("[HardwareAssetService] Import chunk starting at row " + firstRow + " failed: " + e.getMessage());
+            for (int i = 0; i < chunk.size(); i++) {
+                HardwareAsset asset = chunk.get(i).asset();
+                report.addError(firstRow + i, asset != null ? asset.serviceTag : null, "Chunk rolled back: " + e.getMessage());
+            }
+        }
+    }
+    
+    /**
+     * assetType and model are only required to create an asset; an update may leave them out.
+     */
+    private static String validateForImport(HardwareAsset asset, boolean creating) {
+        if (asset == null) {
+            return "Empty row";
+        }
+        if (asset.serviceTag == null || asset.serviceTag.isBlank()) {
+            return "serviceTag is required";
+        }
+        if (!creating) {
+            return null;
+        }
+        if (asset.assetType == null) {
+            return "assetType is required";
+        }
+        if (asset.model == null || asset.model.isBlank()) {
+            return "model is required";
+        }
+        return null;
     }
     
     @Transactional
+    @CacheInvalidateAll(cacheName = STATS_CACHE)
     public HardwareAsset assignToEmployee(Long id, String employeeId, String employeeName) {
         HardwareAsset asset = repository.findById(id);
         if (asset == null) {
@@ -103,7 +356,133 @@ public class HardwareAssetService {
         return asset;
     }
     
+    /**
+     * One line of a bulk assignment: the asset by id or service tag, and the employee to assign it to.
+     */
+    public static class Assignment {
+        public Long id;
+        public String serviceTag;
+        public String employeeId;
+    }
+    
+    /**
+     * Assign many assets at once. Employee names are resolved up front in a single query; assets are
+     * loaded and updated in chunks of app.assets.assign.chunk-size, each in its own transaction.
+     * An asset already assigned to someone else is a conflict unless {@code reassign} is set.
+     * Returns one result per input line.
+     */
+    @CacheInvalidateAll(cacheName = STATS_CACHE)
+    public List<Map<String, Object>> bulkAssign(List<Assignment> assignments, boolean reassign) {
+        Set<String> employeeIds = new HashSet<>();
+        for (Assignment line : assignments) {
+            if (line != null && line.employeeId != null && !line.employeeId.isBlank()) {
+                employeeIds.add(line.employeeId);
+            }
+        }
+        Map<String, User> employees = userRepository.findByEmployeeIds(employeeIds);
+        
+        List<Map<String, Object>> results = new ArrayList<>(assignments.size());
+        Set<Long> seenAssets = new HashSet<>();
+        for (int start = 0; start < assignments.size(); start += assignChunkSize) {
+            List<Assignment> chunk = assignments.subList(start, Math.min(start + assignChunkSize, assignments.size()));
+            results.addAll(assignChunk(chunk, start + 1, employees, seenAssets, reassign));
+        }
+        return results;
+    }
+    
+    private List<Map<String, Object>> assignChunk(List<Assignment> chunk, int firstLine, Map<String, User> employees,
+                                                  Set<Long> seenAssets, boolean reassign) {
+        List<Map<String, Object>> results = new ArrayList<>(chunk.size());
+        Set<Long> claimed = new HashSet<>();
+        try {
+            QuarkusTransaction.requiringNew().run(() -> {
+                Set<Long> ids = new HashSet<>();
+                Set<String> tags = new HashSet<>();
+                for (Assignment line : chunk) {
+                    if (line == null) {
+                        continue;
+                    }
+                    if (line.id != null) {
+                        ids.add(line.id);
+                    } else if (line.serviceTag != null && !line.serviceTag.isBlank()) {
+                        tags.add(line.serviceTag);
+                    }
+                }
+                Map<Long, HardwareAsset> byId = repository.findByIds(ids);
+                Map<String, HardwareAsset> byTag = repository.findByServiceTags(tags);
+                
+                LocalDate today = LocalDate.now();
+                int lineNumber = firstLine;
+                for (Assignment line : chunk) {
+                    Map<String, Object> result = new LinkedHashMap<>();
+                    result.put("line", lineNumber++);
+                    results.add(result);
+                    if (line == null) {
+                        conflict(result, "Empty line");
+                        continue;
+                    }
+                    result.put("id", line.id);
+                    result.put("serviceTag", line.serviceTag);
+                    result.put("employeeId", line.employeeId);
+                    
+                    HardwareAsset asset = line.id != null ? byId.get(line.id) : byTag.get(line.serviceTag);
+                    User employee = line.employeeId != null ? employees.get(line.employeeId) : null;
+                    if (line.id == null && (line.serviceTag == null || line.serviceTag.isBlank())) {
+                        conflict(result, "id or serviceTag is required");
+                    } else if (asset == null) {
+                        conflict(result, "Unknown asset");
+                    } else if (employee == null) {
+                        conflict(result, line.employeeId == null ? "employeeId is required" : "Unknown employee");
+                    } else if (seenAssets.contains(asset.id) || !claimed.add(asset.id)) {
+                        conflict(result, "Asset appears more than once in this request");
+                    } else if (line.employeeId.equals(asset.assignedTo)) {
+                        result.put("status", "unchanged");
+                    } else if (asset.assignedTo != null && !reassign) {
+                        conflict(result, "Already assigned to " + asset.assignedTo);
+                    } else {
+                        result.put("status", asset.assignedTo != null ? "reassigned" : "assigned");
+                        asset.assignedTo = employee.employeeId;
+                        asset.assignedToName = employee.name;
+                        asset.assignedDate = today;
+                        asset.status = AssetStatus.Assigned;
+                        asset.verificationStatus = VerificationStatus.Pending;
+                    }
+                    if (asset != null) {
+                        result.put("id", asset.id);
+                        result.put("serviceTag", asset.serviceTag);
+                    }
+                }
+                repository.flush();
+                repository.getEntityManager().clear();
+            });
+            seenAssets.addAll(claimed);
+        } catch (Exception e) {
+            System.err.println("[HardwareAssetService] Assignment chunk starting at line " + firstLine + " failed: " + e.getMessage());
+            // The chunk was rolled back, so none of its lines took effect
+            results.clear();
+            int lineNumber = firstLine;
+            for (Assignment line : chunk) {
+                Map<String, Object> result = new LinkedHashMap<>();
+                result.put("line", lineNumber++);
+                if (line != null) {
+                    result.put("id", line.id);
+                    result.put("serviceTag", line.serviceTag);
+                    result.put("employeeId", line.employeeId);
+                }
+                conflict(result, "Chunk rolled back: " + e.getMessage());
+                results.add(result);
+            }
+        }
+        return results;
+    }
+    
+    private static void conflict(Map<String, Object> result, String reason) {
+        result.put("status", "conflict");
+        result.put("message", reason);
+    }
+    
     @Transactional
+    @CacheInvalidateAll(cacheName = STATS_CACHE)
     public HardwareAsset updateVerificationStatus(Long id, VerificationStatus status, String imageUrl) {
         HardwareAsset asset = repository.findById(id);
         if (asset == null) {
@@ -118,26 +497,51 @@ public class HardwareAssetService {
     }
     
     @Transactional
+    @CacheInvalidateAll(cacheName = STATS_CACHE)
     public boolean delete(Long id) {
-        return repository.deleteById(id);
+        boolean deleted = repository.deleteById(id);
+        if (deleted) {
+            autocomplete.serviceTagChanged(id, null);
+        }
+        return deleted;
     }
     
+    /**
+     * Dashboard counters from a single grouped aggregate. Cached briefly and dropped on every asset write.
+     */
+    @CacheResult(cacheName = STATS_CACHE)
     public Map<String, Object> getStats() {
-        Map<String, Object> stats = new HashMap<>();
-        stats.put("total", repository.count());
-        stats.put("instock", repository.countByStatus(AssetStatus.Instock));
-        stats.put("assigned", repository.countByStatus(AssetStatus.Assigned));
-        stats.put("verified", repository.countByVerificationStatus(VerificationStatus.Verified));
-        stats.put("pending", repository.countByVerificationStatus(VerificationStatus.Pending));
-        stats.put("overdue", repository.countByVerificationStatus(VerificationStatus.Overdue));
-        stats.put("exception", repository.countByVerificationStatus(VerificationStatus.Exception));
+        Timer.Sample sample = Timer.start(meterRegistry);
+        List<Object[]> rows = repository.aggregateByStatus();
+        sample.stop(meterRegistry.timer("assets.stats.query"));
+        
+        long total = 0, instock = 0, assigned = 0;
+        Map<VerificationStatus, Long> byVerification = new EnumMap<>(VerificationStatus.class);
+        BigDecimal totalValue = BigDecimal.ZERO;
+        for (Object[] row : rows) {
+            AssetStatus status = (AssetStatus) row[0];
+            VerificationStatus verificationStatus = (VerificationStatus) row[1];
+            long count = (Long) row[2];
+            total += count;
+            if (status == AssetStatus.Instock) {
+                instock += count;
+            } else if (status == AssetStatus.Assigned) {
+                assigned += count;
+            }
+            if (verificationStatus != null) {
+                byVerification.merge(verificationStatus, count, Long::sum);
+            }
+            totalValue = totalValue.add((BigDecimal) row[3]);
+        }
         
-        // Calculate total value
-        List<HardwareAsset> all = repository.listAll();
-        BigDecimal totalValue = all.stream()
-            .filter(a -> a.cost != null)
-            .map(a -> a.cost)
-            .reduce(BigDecimal.ZERO, BigDecimal::add);
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("total", total);
+        stats.put("instock", instock);
+        stats.put("assigned", assigned);
+        stats.put("verified", byVerification.getOrDefault(VerificationStatus.Verified, 0L));
+        stats.put("pending", byVerification.getOrDefault(VerificationStatus.Pending, 0L));
+        stats.put("overdue", byVerification.getOrDefault(VerificationStatus.Overdue, 0L));
+        stats.put("exception", byVerification.getOrDefault(VerificationStatus.Exception, 0L));
         stats.put("totalValue", totalValue);
         
         return stats;
@@ -0,0 +1,89 @@
+package org.squadron.service;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Single-node session store. Sessions are kept in access order, so the least recently used one is
+ * evicted when the store is full and expired sessions are always at the head for the sweep.
+ */
+@ApplicationScoped
+public class InMemorySessionStore implements SessionStore {
+    
+    @ConfigProperty(name = "app.sessions.ttl", defaultValue = "PT8H")
+    Duration ttl;
+    
+    @ConfigProperty(name = "app.sessions.max-size", defaultValue = "100000")
+    int maxSize;
+    
+    private static final class Entry {
+        final long userId;
+        long lastAccess;
+        
+        Entry(long userId, long lastAccess) {
+            this.userId = userId;
+            this.lastAccess = lastAccess;
+        }
+    }
+    
+    // Guarded by this
+    private final LinkedHashMap<String, Entry> sessions = new LinkedHashMap<>(16, 0.75f, true);
+    
+    @Override
+    public synchronized String create(long userId) {
+        String sid = UUID.randomUUID().toString();
+        sessions.put(sid, new Entry(userId, System.currentTimeMillis()));
+        Iterator<String> eldest = sessions.keySet().iterator();
+        while (sessions.size() > maxSize && eldest.hasNext()) {
+            eldest.next();
+            eldest.remove();
+        }
+        return sid;
+    }
+    
+    @Override
+    public synchronized Optional<Long> touch(String sid) {
+        Entry entry = sessions.get(sid);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        long now = System.currentTimeMillis();
+        if (now - entry.lastAccess > ttl.toMillis()) {
+            sessions.remove(sid);
+            return Optional.empty();
+        }
+        entry.lastAccess = now;
+        return Optional.of(entry.userId);
+    }
+    
+    @Override
+    public synchronized void remove(String sid) {
+        sessions.remove(sid);
+    }
+    
+    @Override
+    public synchronized long sweep() {
+        long cutoff = System.currentTimeMillis() - ttl.toMillis();
+        long removed = 0;
+        Iterator<Map.Entry<String, Entry>> it = sessions.entrySet().iterator();
+        while (it.hasNext()) {
+            if (it.next().getValue().lastAccess >= cutoff) {
+                break; // access order: everything after this was used more recently
+            }
+            it.remove();
+            removed++;
+        }
+        return removed;
+    }
+    
+    public synchronized int size() {
+        return sessions.size();
+    }
+}
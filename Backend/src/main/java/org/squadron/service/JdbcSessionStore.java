@@ -0,0 +1,125 @@
+package org.squadron.service;
+
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.squadron.model.UserSession;
+import org.squadron.repository.UserSessionRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Database-backed session store shared by every backend instance.
+ *
+ * A small local cache answers repeated lookups of the same session without a query. Cached entries
+ * are trusted for app.sessions.cache-ttl; after that the session is re-read, which also records the
+ * access for the sliding expiry. A logout on another instance therefore takes effect here within
+ * one cache TTL.
+ */
+@ApplicationScoped
+public class JdbcSessionStore implements SessionStore {
+    
+    @Inject
+    UserSessionRepository repository;
+    
+    @ConfigProperty(name = "app.sessions.ttl", defaultValue = "PT8H")
+    Duration ttl;
+    
+    @ConfigProperty(name = "app.sessions.max-size", defaultValue = "100000")
+    int maxSize;
+    
+    @ConfigProperty(name = "app.sessions.cache-ttl", defaultValue = "PT30S")
+    Duration cacheTtl;
+    
+    @ConfigProperty(name = "app.sessions.cache-size", defaultValue = "10000")
+    int cacheSize;
+    
+    private record Cached(long userId, long cachedAt) {
+    }
+    
+    // Guarded by itself; least recently used entries are dropped beyond cacheSize
+    private final Map<String, Cached> cache = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Cached> eldest) {
+            return size() > cacheSize;
+        }
+    };
+    
+    @Override
+    @Transactional
+    public String create(long userId) {
+        UserSession session = new UserSession();
+        session.sid = UUID.randomUUID().toString();
+        session.userId = userId;
+        session.createdAt = LocalDateTime.now();
+        session.lastAccess = session.createdAt;
+        repository.persist(session);
+        cache(session.sid, userId);
+        return session.sid;
+    }
+    
+    @Override
+    public Optional<Long> touch(String sid) {
+        Cached cached;
+        synchronized (cache) {
+            cached = cache.get(sid);
+        }
+        if (cached != null && System.currentTimeMillis() - cached.cachedAt() < cacheTtl.toMillis()) {
+            return Optional.of(cached.userId());
+        }
+        
+        // One UPDATE both checks the expiry and slides it, without loading the session entity
+        Optional<Long> userId = QuarkusTransaction.joiningExisting().call(() -> {
+            LocalDateTime now = LocalDateTime.now();
+            if (repository.touch(sid, now, now.minus(ttl)) == 0) {
+                repository.deleteBySid(sid);
+                return Optional.<Long>empty();
+            }
+            return repository.findUserIdBySid(sid);
+        });
+        if (userId.isPresent()) {
+            cache(sid, userId.get());
+        } else {
+            uncache(sid);
+        }
+        return userId;
+    }
+    
+    @Override
+    @Transactional
+    public void remove(String sid) {
+        uncache(sid);
+        repository.deleteBySid(sid);
+    }
+    
+    @Override
+    @Transactional
+    public long sweep() {
+        long removed = repository.deleteIdleSince(LocalDateTime.now().minus(ttl));
+        removed += repository.trimTo(maxSize);
+        long cutoff = System.currentTimeMillis() - cacheTtl.toMillis();
+        synchronized (cache) {
+            cache.values().removeIf(cached -> cached.cachedAt() < cutoff);
+        }
+        return removed;
+    }
+    
+    private void cache(String sid, long userId) {
+        synchronized (cache) {
+            cache.put(sid, new Cached(userId, System.currentTimeMillis()));
+        }
+    }
+    
+    private void uncache(String sid) {
+        synchronized (cache) {
+            cache.remove(sid);
+        }
+    }
+}
@@ -1,17 +1,28 @@
 package org.squadron.service;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import io.quarkus.narayana.jta.QuarkusTransaction;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.squadron.model.Peripheral;
 import org.squadron.model.Peripheral.PeripheralType;
 import org.squadron.model.Peripheral.PeripheralStatus;
 import org.squadron.repository.PeripheralRepository;
+import org.squadron.service.PeripheralStockCounters.Slot;
+import org.squadron.repository.KeysetPage;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @ApplicationScoped
 public class PeripheralService {
@@ -19,10 +30,40 @@ public class PeripheralService {
     @Inject
     PeripheralRepository repository;
     
+    @Inject
+    PeripheralStockCounters counters;
+    
+    @Inject
+    TagAutocomplete autocomplete;
+    
+    @ConfigProperty(name = "app.peripherals.intake.chunk-size", defaultValue = "500")
+    int intakeChunkSize;
+    
+    @ConfigProperty(name = "app.peripherals.verify.chunk-size", defaultValue = "1000")
+    int verifyChunkSize;
+    
+    /**
+     * One line of a bulk stock intake. parseError is set when the line itself could not be read.
+     */
+    public static class StockIntake {
+        public PeripheralType type;
+        public String serialNumber;
+        public String location;
+        
+        @JsonIgnore
+        public String parseError;
+    }
+    
     public List<Peripheral> findAll() {
         return repository.listAll();
     }
     
+    public KeysetPage<Peripheral> findPage(Long after, Integer limit, PeripheralStatus status,
+                                           PeripheralType type, Boolean verified,
+                                           String location, String assignedTo) {
+        return repository.findPage(after, limit, status, type, verified, location, assignedTo);
+    }
+    
     public Peripheral findById(Long id) {
         return repository.findById(id);
     }
@@ -31,6 +72,18 @@ public class PeripheralService {
         return repository.findByAssignedTo(employeeId);
     }
     
+    public List<Peripheral> findByAssetId(Long assetId) {
+        return repository.findByAssetId(assetId);
+    }
+    
+    public Map<Long, List<Peripheral>> findByAssetIds(List<Long> assetIds) {
+        return repository.findByAssetIds(assetIds);
+    }
+    
+    public Map<String, List<Peripheral>> findByEmployeeIds(List<String> employeeIds) {
+        return repository.findByAssignedToIn(employeeIds);
+    }
+    
     public List<Peripheral> findByType(PeripheralType type) {
         return repository.findByType(type);
     }
@@ -53,13 +106,38 @@ public class PeripheralService {
     }
     
     public long countInstockByType(PeripheralType type) {
-        return repository.count("status = ?1 and type = ?2", PeripheralStatus.Instock, type);
+        return counters.get(type, PeripheralStatus.Instock, false)
+            + counters.get(type, PeripheralStatus.Instock, true);
     }
     
     public Map<String, Long> getStockByType() {
+        return stockByType(counters.snapshot());
+    }
+    
+    /**
+     * Full type x status x verified matrix, e.g. {"Dock": {"Instock": {"verified": 0, "unverified": 3}}}.
+     */
+    public Map<String, Map<String, Map<String, Long>>> getStockMatrix() {
+        long[] snapshot = counters.snapshot();
+        Map<String, Map<String, Map<String, Long>>> matrix = new LinkedHashMap<>();
+        for (PeripheralType type : PeripheralType.values()) {
+            Map<String, Map<String, Long>> byStatus = new LinkedHashMap<>();
+            for (PeripheralStatus status : PeripheralStatus.values()) {
+                Map<String, Long> cell = new LinkedHashMap<>();
+                cell.put("verified", snapshot[new Slot(type, status, true).index()]);
+                cell.put("unverified", snapshot[new Slot(type, status, false).index()]);
+                byStatus.put(status.name(), cell);
+            }
+            matrix.put(type.name(), byStatus);
+        }
+        return matrix;
+    }
+    
+    private Map<String, Long> stockByType(long[] snapshot) {
         Map<String, Long> stock = new HashMap<>();
         for (PeripheralType type : PeripheralType.values()) {
-            stock.put(type.name(), countInstockByType(type));
+            stock.put(type.name(), snapshot[new Slot(type, PeripheralStatus.Instock, false).index()]
+                + snapshot[new Slot(type, PeripheralStatus.Instock, true).index()]);
         }
         return stock;
     }
@@ -70,6 +148,8 @@ public class PeripheralService {
             peripheral.status = PeripheralStatus.Instock;
         }
         repository.persist(peripheral);
+        counters.added(Slot.of(peripheral));
+        autocomplete.serialNumberChanged(peripheral.id, peripheral.serialNumber);
         return peripheral;
     }
     
@@ -83,42 +163,150 @@ public class PeripheralService {
         p.purchaseDate = LocalDate.now();
         p.verified = false;
         repository.persist(p);
+        counters.added(Slot.of(p));
+        autocomplete.serialNumberChanged(p.id, p.serialNumber);
         return p;
     }
     
+    /**
+     * Add a shipment to stock. Lines are written in chunks, each in its own transaction with JDBC
+     * batching, and the persistence context is cleared between chunks so memory stays flat.
+     * Serial numbers are deduplicated against the rest of the intake and against existing peripherals.
+     * Returns one result per input line.
+     */
+    public List<Map<String, Object>> bulkAddToStock(Iterator<StockIntake> lines) {
+        List<Map<String, Object>> results = new ArrayList<>();
+        Set<String> seenSerials = new HashSet<>();
+        List<StockIntake> chunk = new ArrayList<>(intakeChunkSize);
+        int lineNumber = 1;
+        while (lines.hasNext()) {
+            chunk.add(lines.next());
+            if (chunk.size() == intakeChunkSize) {
+                results.addAll(intakeChunk(chunk, lineNumber, seenSerials));
+                lineNumber += chunk.size();
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            results.addAll(intakeChunk(chunk, lineNumber, seenSerials));
+        }
+        return results;
+    }
+    
+    private List<Map<String, Object>> intakeChunk(List<StockIntake> chunk, int firstLine, Set<String> seenSerials) {
+        List<Map<String, Object>> results = new ArrayList<>(chunk.size());
+        try {
+            QuarkusTransaction.requiringNew().run(() -> {
+                Set<String> existing = repository.findExistingSerialNumbers(chunk.stream()
+                    .map(line -> line.serialNumber)
+                    .filter(serial -> serial != null && !serial.isBlank())
+                    .collect(Collectors.toSet()));
+                
+                LocalDate today = LocalDate.now();
+                Map<Long, String> createdSerials = new HashMap<>();
+                int lineNumber = firstLine;
+                for (StockIntake line : chunk) {
+                    Map<String, Object> result = new LinkedHashMap<>();
+                    result.put("line", lineNumber++);
+                    result.put("serialNumber", line.serialNumber);
+                    boolean hasSerial = line.serialNumber != null && !line.serialNumber.isBlank();
+                    if (line.parseError != null) {
+                        result.put("status", "error");
+                        result.put("message", line.parseError);
+                    } else if (line.type == null) {
+                        result.put("status", "error");
+                        result.put("message", "type is required");
+                    } else if (hasSerial && existing.contains(line.serialNumber)) {
+                        result.put("status", "exists");
+                    } else if (hasSerial && !seenSerials.add(line.serialNumber)) {
+                        result.put("status", "duplicate");
+                    } else {
+                        Peripheral p = new Peripheral();
+                        p.type = line.type;
+                        p.serialNumber = line.serialNumber;
+                        p.status = PeripheralStatus.Instock;
+                        p.location = line.location;
+                        p.purchaseDate = today;
+                        p.verified = false;
+                        repository.persist(p);
+                        counters.added(Slot.of(p));
+                        if (hasSerial) {
+                            createdSerials.put(p.id, p.serialNumber);
+                        }
+                        result.put("status", "created");
+                        result.put("id", p.id);
+                    }
+                    results.add(result);
+                }
+                autocomplete.serialNumbersChanged(createdSerials);
+                repository.flush();
+                repository.getEntityManager().clear();
+            });
+        } catch (Exception e) {
+            System.err.println("[PeripheralService] Stock intake chunk starting at line " + firstLine + " failed: " + e.getMessage());
+            // Nothing in the chunk was written: every line that would have been created is reported as an error
+            for (int i = 0; i < chunk.size(); i++) {
+                if (i == results.size()) {
+                    Map<String, Object> result = new LinkedHashMap<>();
+                    result.put("line", firstLine + i);
+                    result.put("serialNumber", chunk.get(i).serialNumber);
+                    result.put("status", "created");
+                    results.add(result);
+                }
+                Map<String, Object> result = results.get(i);
+                if ("created".equals(result.get("status"))) {
+                    seenSerials.remove(chunk.get(i).serialNumber);
+                    result.put("status", "error");
+                    result.put("message", "Chunk rolled back: " + e.getMessage());
+                    result.remove("id");
+                }
+            }
+        }
+        return results;
+    }
+    
     @Transactional
     public Peripheral update(Long id, Peripheral peripheral) {
         Peripheral existing = repository.findById(id);
         if (existing == null) {
             return null;
         }
+        Slot before = Slot.of(existing);
         existing.type = peripheral.type;
         existing.serialNumber = peripheral.serialNumber;
         existing.assignedTo = peripheral.assignedTo;
         existing.assignedToName = peripheral.assignedToName;
+        existing.assetId = peripheral.assetId;
         existing.verified = peripheral.verified;
         existing.assignedDate = peripheral.assignedDate;
         existing.verifiedDate = peripheral.verifiedDate;
         existing.status = peripheral.status;
         existing.location = peripheral.location;
+        counters.moved(before, Slot.of(existing));
+        autocomplete.serialNumberChanged(existing.id, existing.serialNumber);
         return existing;
     }
     
     @Transactional
     public Peripheral assignFromStock(PeripheralType type, String employeeId, String employeeName) {
-        // Find an available peripheral of this type in stock
-        List<Peripheral> available = findInstockByType(type);
-        if (available.isEmpty()) {
+        // Claim one unit with a row lock; units locked by concurrent assigners are skipped.
+        // Databases without SKIP LOCKED wait on the lock instead, so re-check the row once we hold it
+        // and move past it if another assigner took it meanwhile.
+        Peripheral p = repository.claimInstock(type, 0);
+        while (p != null && p.status != PeripheralStatus.Instock) {
+            p = repository.claimInstock(type, p.id);
+        }
+        if (p == null) {
             return null; // No stock available
         }
         
-        // Take the first available one
-        Peripheral p = available.get(0);
+        Slot before = Slot.of(p);
         p.assignedTo = employeeId;
         p.assignedToName = employeeName;
         p.assignedDate = LocalDate.now();
         p.status = PeripheralStatus.Assigned;
         p.verified = false;
+        counters.moved(before, Slot.of(p));
         return p;
     }
     
@@ -141,12 +329,15 @@ public class PeripheralService {
         if (p == null) {
             return null;
         }
+        Slot before = Slot.of(p);
         p.assignedTo = null;
         p.assignedToName = null;
+        p.assetId = null;
         p.assignedDate = null;
         p.status = PeripheralStatus.Instock;
         p.verified = false;
         p.verifiedDate = null;
+        counters.moved(before, Slot.of(p));
         return p;
     }
     
@@ -156,8 +347,10 @@ public class PeripheralService {
         if (p == null) {
             return null;
         }
+        Slot before = Slot.of(p);
         p.verified = true;
         p.verifiedDate = LocalDate.now();
+        counters.moved(before, Slot.of(p));
         return p;
     }
     
@@ -165,25 +358,85 @@ public class PeripheralService {
     public List<Peripheral> verifyMultiple(List<Long> ids) {
         List<Peripheral> peripherals = repository.list("id in ?1", ids);
         for (Peripheral p : peripherals) {
+            Slot before = Slot.of(p);
             p.verified = true;
             p.verifiedDate = LocalDate.now();
+            counters.moved(before, Slot.of(p));
         }
         return peripherals;
     }
     
+    /**
+     * Verify peripherals with set-based UPDATEs instead of loading them: by id, and/or everything
+     * assigned to the given employees. Each bounded chunk of ids or employees is its own statement
+     * and transaction. Returns the number of rows updated.
+     */
+    public int bulkVerify(List<Long> ids, List<String> employeeIds) {
+        LocalDate today = LocalDate.now();
+        int updated = 0;
+        if (ids != null) {
+            for (List<Long> chunk : chunks(ids, verifyChunkSize)) {
+                updated += QuarkusTransaction.requiringNew().call(() -> {
+                    int rows = repository.markVerifiedByIds(chunk, today);
+                    counters.invalidate();
+                    return rows;
+                });
+            }
+        }
+        if (employeeIds != null) {
+            for (List<String> chunk : chunks(employeeIds, verifyChunkSize)) {
+                updated += QuarkusTransaction.requiringNew().call(() -> {
+                    int rows = repository.markVerifiedByAssignedTo(chunk, today);
+                    counters.invalidate();
+                    return rows;
+                });
+            }
+        }
+        return updated;
+    }
+    
+    private static <T> List<List<T>> chunks(List<T> items, int size) {
+        List<List<T>> chunks = new ArrayList<>();
+        for (int i = 0; i < items.size(); i += size) {
+            chunks.add(items.subList(i, Math.min(i + size, items.size())));
+        }
+        return chunks;
+    }
+    
     @Transactional
     public boolean delete(Long id) {
-        return repository.deleteById(id);
+        boolean deleted = repository.deleteById(id);
+        if (deleted) {
+            counters.invalidate();
+            autocomplete.serialNumberChanged(id, null);
+        }
+        return deleted;
     }
     
     public Map<String, Object> getStats() {
+        long[] snapshot = counters.snapshot();
+        long total = 0, verified = 0, instock = 0, assigned = 0;
+        for (PeripheralType type : PeripheralType.values()) {
+            for (PeripheralStatus status : PeripheralStatus.values()) {
+                long yes = snapshot[new Slot(type, status, true).index()];
+                long no = snapshot[new Slot(type, status, false).index()];
+                total += yes + no;
+                verified += yes;
+                if (status == PeripheralStatus.Instock) {
+                    instock += yes + no;
+                } else if (status == PeripheralStatus.Assigned) {
+                    assigned += yes + no;
+                }
+            }
+        }
+        
         Map<String, Object> stats = new HashMap<>();
-        stats.put("total", repository.count());
-        stats.put("verified", repository.countVerified());
-        stats.put("unverified", repository.countUnverified());
-        stats.put("instock", repository.count("status", PeripheralStatus.Instock));
-        stats.put("assigned", repository.count("status", PeripheralStatus.Assigned));
-        stats.put("stockByType", getStockByType());
+        stats.put("total", total);
+        stats.put("verified", verified);
+        stats.put("unverified", total - verified);
+        stats.put("instock", instock);
+        stats.put("assigned", assigned);
+        stats.put("stockByType", stockByType(snapshot));
         return stats;
     }
 }
@@ -0,0 +1,121 @@
+package org.squadron.service;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.squadron.model.Peripheral;
+import org.squadron.model.Peripheral.PeripheralStatus;
+import org.squadron.model.Peripheral.PeripheralType;
+import org.squadron.repository.PeripheralRepository;
+import java.time.Duration;
+
+/**
+ * In-memory peripheral counts per (type, status, verified), so stock and stats reads need no query.
+ *
+ * The table is loaded with one grouped query on first read and then kept current by the deltas
+ * PeripheralService reports. Deltas are applied only after the surrounding transaction commits,
+ * so a rolled-back write never shows up in the counts. Writes that can't describe their delta
+ * (deletes, bulk statements) call {@link #invalidate()} and the next read reloads. The table is
+ * also reloaded once it is older than app.peripherals.counters.ttl, which bounds staleness from
+ * writes on other instances.
+ */
+@ApplicationScoped
+public class PeripheralStockCounters {
+    
+    private static final int STATUSES = PeripheralStatus.values().length;
+    private static final int SIZE = PeripheralType.values().length * STATUSES * 2;
+    
+    @Inject
+    PeripheralRepository repository;
+    
+    @Inject
+    AfterCommit afterCommit;
+    
+    @ConfigProperty(name = "app.peripherals.counters.ttl", defaultValue = "PT5M")
+    Duration ttl;
+    
+    // Guarded by this. counts is null until loaded; writes counts applied changes so a load
+    // that raced with a commit can tell its snapshot is stale.
+    private long[] counts;
+    private long loadedAt;
+    private long writes;
+    
+    /**
+     * A single cell of the counter table.
+     */
+    public record Slot(PeripheralType type, PeripheralStatus status, boolean verified) {
+        
+        public static Slot of(Peripheral p) {
+            return new Slot(p.type, p.status != null ? p.status : PeripheralStatus.Instock, p.verified);
+        }
+        
+        int index() {
+            return (type.ordinal() * STATUSES + status.ordinal()) * 2 + (verified ? 1 : 0);
+        }
+    }
+    
+    public long get(PeripheralType type, PeripheralStatus status, boolean verified) {
+        return snapshot()[new Slot(type, status, verified).index()];
+    }
+    
+    /**
+     * Copy of the whole table, indexed by {@link Slot#index()}.
+     */
+    long[] snapshot() {
+        long generation;
+        synchronized (this) {
+            if (counts != null && System.currentTimeMillis() - loadedAt < ttl.toMillis()) {
+                return counts.clone();
+            }
+            generation = writes;
+        }
+        
+        long started = System.currentTimeMillis();
+        long[] loaded = new long[SIZE];
+        for (Object[] row : repository.stockMatrix()) {
+            Slot slot = new Slot((PeripheralType) row[0], (PeripheralStatus) row[1], (Boolean) row[2]);
+            loaded[slot.index()] = (Long) row[3];
+        }
+        
+        synchronized (this) {
+            // Only install the snapshot if nothing committed while it was being read
+            if (writes == generation) {
+                counts = loaded.clone();
+                loadedAt = started;
+            }
+        }
+        return loaded;
+    }
+    
+    public void added(Slot slot) {
+        afterCommit.run(() -> apply(null, slot));
+    }
+    
+    public void moved(Slot from, Slot to) {
+        if (!from.equals(to)) {
+            afterCommit.run(() -> apply(from, to));
+        }
+    }
+    
+    public void invalidate() {
+        afterCommit.run(() -> {
+            synchronized (this) {
+                writes++;
+                counts = null;
+            }
+        });
+    }
+    
+    private synchronized void apply(Slot from, Slot to) {
+        writes++;
+        if (counts == null) {
+            return;
+        }
+        if (from != null) {
+            counts[from.index()]--;
+        }
+        if (to != null) {
+            counts[to.index()]++;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package org.squadron.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Sorted in-memory index of identifier strings (service tags, serial numbers) for prefix lookup.
+ *
+ * Values are normalized to upper case with separators removed, so "abc-12" finds "ABC12X" and
+ * "ABC 12". A lookup is a range scan over a skip list: O(log n + limit), lock free for readers.
+ * Writers are serialized; each id maps to at most one value.
+ */
+public class PrefixIndex {
+    
+    public record Match(long id, String value) {
+    }
+    
+    // Key is normalized value + '\0' + id, which keeps duplicates apart and sorts them together
+    private final ConcurrentSkipListMap<String, Match> entries = new ConcurrentSkipListMap<>();
+    private final Map<Long, String> keysById = new ConcurrentHashMap<>();
+    
+    public synchronized void put(long id, String value) {
+        String normalized = value != null ? normalize(value) : "";
+        if (normalized.isEmpty()) {
+            remove(id);
+            return;
+        }
+        String key = normalized + '\0' + id;
+        String previous = keysById.put(id, key);
+        if (previous != null && !previous.equals(key)) {
+            entries.remove(previous);
+        }
+        entries.put(key, new Match(id, value));
+    }
+    
+    public synchronized void remove(long id) {
+        String key = keysById.remove(id);
+        if (key != null) {
+            entries.remove(key);
+        }
+    }
+    
+    public synchronized void clear() {
+        entries.clear();
+        keysById.clear();
+    }
+    
+    public int size() {
+        return keysById.size();
+    }
+    
+    /**
+     * Up to {@code limit} values starting with {@code prefix}, in sorted order.
+     */
+    public List<Match> search(String prefix, int limit) {
+        String normalized = prefix != null ? normalize(prefix) : "";
+        List<Match> matches = new ArrayList<>(Math.min(limit, 16));
+        if (normalized.isEmpty() || limit <= 0) {
+            return matches;
+        }
+        // \uFFFF sorts after every character that survives normalization
+        ConcurrentNavigableMap<String, Match> range = entries.subMap(normalized, true, normalized + '\uFFFF', false);
+        for (Match match : range.values()) {
+            matches.add(match);
+            if (matches.size() == limit) {
+                break;
+            }
+        }
+        return matches;
+    }
+    
+    static String normalize(String value) {
+        StringBuilder normalized = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                normalized.append(c);
+            }
+        }
+        return normalized.toString().toUpperCase(Locale.ROOT);
+    }
+}
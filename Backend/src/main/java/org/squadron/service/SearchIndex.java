@@ -0,0 +1,458 @@
+package org.squadron.service;
+
+import io.quarkus.hibernate.orm.panache.PanacheRepository;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.facet.DrillDownQuery;
+import org.apache.lucene.facet.FacetResult;
+import org.apache.lucene.facet.Facets;
+import org.apache.lucene.facet.FacetsCollector;
+import org.apache.lucene.facet.FacetsConfig;
+import org.apache.lucene.facet.LabelAndValue;
+import org.apache.lucene.facet.sortedset.DefaultSortedSetDocValuesReaderState;
+import org.apache.lucene.facet.sortedset.SortedSetDocValuesFacetCounts;
+import org.apache.lucene.facet.sortedset.SortedSetDocValuesFacetField;
+import org.apache.lucene.facet.sortedset.SortedSetDocValuesReaderState;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.simple.SimpleQueryParser;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.squadron.model.Campaign;
+import org.squadron.model.EquipmentCount;
+import org.squadron.model.HardwareAsset;
+import org.squadron.model.Peripheral;
+import org.squadron.model.User;
+import org.squadron.repository.CampaignRepository;
+import org.squadron.repository.EquipmentCountRepository;
+import org.squadron.repository.HardwareAssetRepository;
+import org.squadron.repository.PeripheralRepository;
+import org.squadron.repository.UserRepository;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Embedded Lucene full-text index over assets, peripherals, users, equipment and campaigns.
+ *
+ * The index lives in memory and is built by a mass reindex on first search (or on demand).
+ * Afterwards {@link SearchIndexListener} reports entity changes, which are written once the
+ * surrounding transaction commits; changes arriving during a reindex are queued and replayed
+ * when it finishes, so the rebuilt index never holds two documents for one entity. Writes through bulk JPQL statements bypass the listener and show up on
+ * the next reindex.
+ */
+@ApplicationScoped
+public class SearchIndex {
+    
+    public static final String ASSET = "asset";
+    public static final String PERIPHERAL = "peripheral";
+    public static final String USER = "user";
+    public static final String EQUIPMENT = "equipment";
+    public static final String CAMPAIGN = "campaign";
+    
+    public static final int DEFAULT_LIMIT = 20;
+    public static final int MAX_LIMIT = 200;
+    private static final int FACET_VALUES = 20;
+    private static final List<String> FACETS = List.of("type", "status", "team", "location");
+    
+    @Inject
+    HardwareAssetRepository assetRepository;
+    
+    @Inject
+    PeripheralRepository peripheralRepository;
+    
+    @Inject
+    UserRepository userRepository;
+    
+    @Inject
+    EquipmentCountRepository equipmentRepository;
+    
+    @Inject
+    CampaignRepository campaignRepository;
+    
+    @Inject
+    AfterCommit afterCommit;
+    
+    @ConfigProperty(name = "app.search.reindex-fetch-size", defaultValue = "1000")
+    int fetchSize;
+    
+    private final Analyzer analyzer = new StandardAnalyzer();
+    private final FacetsConfig facetsConfig = new FacetsConfig();
+    private final Object initLock = new Object();
+    private IndexWriter writer;
+    private SearcherManager searcherManager;
+    
+    private volatile boolean indexed;
+    private volatile boolean reindexing;
+    // Guarded by this
+    private final List<Runnable> pending = new ArrayList<>();
+    private IndexReader facetReader;
+    private SortedSetDocValuesReaderState facetState;
+    
+    /**
+     * What gets indexed for one entity. status, team and location double as facets.
+     */
+    record Entry(String type, long id, String title, String subtitle, String text,
+                 String status, String team, String location) {
+        
+        String key() {
+            return type + ":" + id;
+        }
+    }
+    
+    @PostConstruct
+    void open() {
+        try {
+            writer = new IndexWriter(new ByteBuffersDirectory(), new IndexWriterConfig(analyzer));
+            searcherManager = new SearcherManager(writer, null);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    @PreDestroy
+    void close() {
+        try {
+            searcherManager.close();
+            writer.close();
+        } catch (IOException e) {
+            System.err.println("[SearchIndex] Failed to close index: " + e.getMessage());
+        }
+    }
+    
+    public void changed(Object entity) {
+        Entry entry = entryOf(entity);
+        if (entry != null) {
+            applyAfterCommit(() -> write(entry));
+        }
+    }
+    
+    public void removed(Object entity) {
+        Entry entry = entryOf(entity);
+        if (entry != null) {
+            applyAfterCommit(() -> delete(entry.key()));
+        }
+    }
+    
+    /**
+     * Rebuild the whole index from the database. Returns documents indexed per type, or null if a
+     * reindex is already running. Searches keep seeing the previous index until it completes.
+     */
+    public Map<String, Object> reindex() {
+        synchronized (this) {
+            if (reindexing) {
+                return null;
+            }
+            reindexing = true;
+        }
+        long start = System.nanoTime();
+        Map<String, Object> result = new LinkedHashMap<>();
+        try {
+            writer.deleteAll();
+            result.put(ASSET, indexAll(assetRepository));
+            result.put(PERIPHERAL, indexAll(peripheralRepository));
+            result.put(USER, indexAll(userRepository));
+            result.put(EQUIPMENT, indexAll(equipmentRepository));
+            result.put(CAMPAIGN, indexAll(campaignRepository));
+            writer.commit();
+            indexed = true;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            synchronized (this) {
+                pending.forEach(Runnable::run);
+                pending.clear();
+                reindexing = false;
+            }
+        }
+        refresh();
+        result.put("elapsedMs", (System.nanoTime() - start) / 1_000_000);
+        System.out.println("[SearchIndex] Reindexed " + result);
+        return result;
+    }
+    
+    private <T> long indexAll(PanacheRepository<T> repository) {
+        return QuarkusTransaction.requiringNew().call(() -> {
+            EntityManager em = repository.getEntityManager();
+            long count = 0;
+            try (Stream<T> rows = repository.findAll()
+                    .withHint("org.hibernate.fetchSize", fetchSize)
+                    .withHint("org.hibernate.readOnly", true)
+                    .stream()) {
+                Iterator<T> it = rows.iterator();
+                while (it.hasNext()) {
+                    T entity = it.next();
+                    writer.addDocument(documentOf(entryOf(entity)));
+                    em.detach(entity);
+                    count++;
+                }
+            }
+            return count;
+        });
+    }
+    
+    /**
+     * Ranked search. Blank q matches everything; type, status, team and location narrow the
+     * result, and the response carries counts for each of those facets.
+     */
+    public Map<String, Object> search(String q, String type, String status, String team, String location, Integer limit) {
+        ensureIndexed();
+        int n = limit == null || limit <= 0 ? DEFAULT_LIMIT : Math.min(limit, MAX_LIMIT);
+        
+        DrillDownQuery query = new DrillDownQuery(facetsConfig, parse(q));
+        addFilter(query, "type", type);
+        addFilter(query, "status", status);
+        addFilter(query, "team", team);
+        addFilter(query, "location", location);
+        
+        if (!reindexing) {
+            refresh();
+        }
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                FacetsCollector collector = new FacetsCollector();
+                TopDocs top = FacetsCollector.search(searcher, query, n, collector);
+                
+                StoredFields stored = searcher.storedFields();
+                List<Map<String, Object>> hits = new ArrayList<>(top.scoreDocs.length);
+                for (ScoreDoc scoreDoc : top.scoreDocs) {
+                    Document doc = stored.document(scoreDoc.doc);
+                    Map<String, Object> hit = new LinkedHashMap<>();
+                    hit.put("type", doc.get("type"));
+                    hit.put("id", doc.getField("id").numericValue().longValue());
+                    hit.put("title", doc.get("title"));
+                    hit.put("subtitle", doc.get("subtitle"));
+                    hit.put("status", doc.get("status"));
+                    hit.put("team", doc.get("team"));
+                    hit.put("location", doc.get("location"));
+                    hit.put("score", scoreDoc.score);
+                    hits.add(hit);
+                }
+                
+                Map<String, Object> result = new LinkedHashMap<>();
+                result.put("total", top.totalHits.value);
+                result.put("hits", hits);
+                result.put("facets", facets(searcher.getIndexReader(), collector));
+                return result;
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    private void ensureIndexed() {
+        if (!indexed) {
+            synchronized (initLock) {
+                if (!indexed) {
+                    reindex();
+                }
+            }
+        }
+    }
+    
+    private Query parse(String q) {
+        if (q == null || q.isBlank()) {
+            return new MatchAllDocsQuery();
+        }
+        SimpleQueryParser parser = new SimpleQueryParser(analyzer, Map.of("title", 3f, "text", 1f));
+        parser.setDefaultOperator(BooleanClause.Occur.MUST);
+        
+        // Exact terms rank first; the same words as prefixes catch partial tags and names
+        StringBuilder prefixed = new StringBuilder();
+        for (String word : q.trim().split("\\s+")) {
+            prefixed.append(word);
+            if (word.chars().allMatch(Character::isLetterOrDigit)) {
+                prefixed.append('*');
+            }
+            prefixed.append(' ');
+        }
+        return new BooleanQuery.Builder()
+                .add(parser.parse(q), BooleanClause.Occur.SHOULD)
+                .add(new BoostQuery(parser.parse(prefixed.toString()), 0.5f), BooleanClause.Occur.SHOULD)
+                .build();
+    }
+    
+    private static void addFilter(DrillDownQuery query, String dimension, String value) {
+        if (value != null && !value.isBlank()) {
+            query.add(dimension, value);
+        }
+    }
+    
+    private Map<String, Map<String, Number>> facets(IndexReader reader, FacetsCollector collector) throws IOException {
+        Map<String, Map<String, Number>> result = new LinkedHashMap<>();
+        for (String dimension : FACETS) {
+            result.put(dimension, new LinkedHashMap<>());
+        }
+        SortedSetDocValuesReaderState state = facetState(reader);
+        if (state == null) {
+            return result;
+        }
+        Facets facets = new SortedSetDocValuesFacetCounts(state, collector);
+        for (String dimension : FACETS) {
+            FacetResult counts;
+            try {
+                counts = facets.getTopChildren(FACET_VALUES, dimension);
+            } catch (IllegalArgumentException e) {
+                continue; // dimension has no values in the index
+            }
+            if (counts != null) {
+                for (LabelAndValue value : counts.labelValues) {
+                    result.get(dimension).put(value.label, value.value);
+                }
+            }
+        }
+        return result;
+    }
+    
+    // Facet ordinals are per reader and costly to build, so they are kept until the reader changes
+    private synchronized SortedSetDocValuesReaderState facetState(IndexReader reader) throws IOException {
+        if (reader.numDocs() == 0) {
+            return null;
+        }
+        if (facetReader != reader) {
+            facetState = new DefaultSortedSetDocValuesReaderState(reader, facetsConfig);
+            facetReader = reader;
+        }
+        return facetState;
+    }
+    
+    private void refresh() {
+        try {
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    private void write(Entry entry) {
+        try {
+            writer.updateDocument(new Term("key", entry.key()), documentOf(entry));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    private void delete(String key) {
+        try {
+            writer.deleteDocuments(new Term("key", key));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    private Document documentOf(Entry entry) throws IOException {
+        Document doc = new Document();
+        doc.add(new StringField("key", entry.key(), Field.Store.NO));
+        doc.add(new StoredField("id", entry.id()));
+        doc.add(new TextField("title", entry.title() != null ? entry.title() : "", Field.Store.YES));
+        doc.add(new TextField("text", entry.text(), Field.Store.NO));
+        if (entry.subtitle() != null) {
+            doc.add(new StoredField("subtitle", entry.subtitle()));
+        }
+        facet(doc, "type", entry.type());
+        facet(doc, "status", entry.status());
+        facet(doc, "team", entry.team());
+        facet(doc, "location", entry.location());
+        return facetsConfig.build(doc);
+    }
+    
+    private static void facet(Document doc, String dimension, String value) {
+        if (value != null && !value.isBlank()) {
+            doc.add(new StoredField(dimension, value));
+            doc.add(new SortedSetDocValuesFacetField(dimension, value));
+        }
+    }
+    
+    static Entry entryOf(Object entity) {
+        if (entity instanceof HardwareAsset a) {
+            return new Entry(ASSET, a.id, a.serviceTag, join(", ", a.model, a.assignedToName),
+                    join(" ", a.serviceTag, a.model, name(a.assetType), a.assignedTo, a.assignedToName,
+                            a.poNumber, a.invoiceNumber, a.location, a.team),
+                    name(a.status), a.team, a.location);
+        }
+        if (entity instanceof Peripheral p) {
+            return new Entry(PERIPHERAL, p.id, p.serialNumber != null ? p.serialNumber : name(p.type),
+                    join(", ", name(p.type), p.assignedToName),
+                    join(" ", p.serialNumber, name(p.type), p.assignedTo, p.assignedToName, p.location),
+                    name(p.status), null, p.location);
+        }
+        if (entity instanceof User u) {
+            return new Entry(USER, u.id, u.name != null ? u.name : u.username, u.email,
+                    join(" ", u.name, u.username, u.email, u.employeeId, u.department, u.role),
+                    null, u.department, null);
+        }
+        if (entity instanceof EquipmentCount e) {
+            return new Entry(EQUIPMENT, e.id, e.itemName, name(e.category),
+                    join(" ", e.itemName, name(e.category), e.location, e.uploadedBy),
+                    name(e.status), null, e.location);
+        }
+        if (entity instanceof Campaign c) {
+            return new Entry(CAMPAIGN, c.id, c.name, c.description,
+                    join(" ", c.name, c.description, c.createdBy),
+                    name(c.status), null, null);
+        }
+        return null;
+    }
+    
+    private static String name(Enum<?> value) {
+        return value != null ? value.name() : null;
+    }
+    
+    private static String join(String separator, String... parts) {
+        StringBuilder joined = new StringBuilder();
+        for (String part : parts) {
+            if (part != null && !part.isBlank()) {
+                if (joined.length() > 0) {
+                    joined.append(separator);
+                }
+                joined.append(part);
+            }
+        }
+        return joined.toString();
+    }
+    
+    // Changes that commit during a reindex are queued and replayed on the new index
+    private void applyAfterCommit(Runnable change) {
+        afterCommit.run(() -> {
+            synchronized (this) {
+                if (reindexing) {
+                    pending.add(change);
+                } else {
+                    change.run();
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,27 @@
+package org.squadron.service;
+
+import io.quarkus.arc.Arc;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+/**
+ * JPA listener that forwards entity writes to the {@link SearchIndex}.
+ */
+public class SearchIndexListener {
+    
+    @PostPersist
+    @PostUpdate
+    void changed(Object entity) {
+        index().changed(entity);
+    }
+    
+    @PostRemove
+    void removed(Object entity) {
+        index().removed(entity);
+    }
+    
+    private static SearchIndex index() {
+        return Arc.container().instance(SearchIndex.class).get();
+    }
+}
@@ -1,29 +1,55 @@
 package org.squadron.service;
 
+import io.quarkus.scheduler.Scheduled;
+import jakarta.annotation.PostConstruct;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 
-import java.util.Map;
 import java.util.Optional;
-import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Login sessions. app.sessions.store selects the backing {@link SessionStore}: "jdbc" (default)
+ * shares sessions between instances and survives restarts, "memory" keeps them on this node only.
+ */
 @ApplicationScoped
 public class SessionService {
-    private final Map<String, Long> sessions = new ConcurrentHashMap<>();
+    
+    @Inject
+    InMemorySessionStore memoryStore;
+    
+    @Inject
+    JdbcSessionStore jdbcStore;
+    
+    @ConfigProperty(name = "app.sessions.store", defaultValue = "jdbc")
+    String storeType;
+    
+    private SessionStore store;
+    
+    @PostConstruct
+    void selectStore() {
+        store = "memory".equals(storeType) ? memoryStore : jdbcStore;
+    }
 
     public String createSession(long userId) {
-        String sid = UUID.randomUUID().toString();
-        sessions.put(sid, userId);
-        return sid;
+        return store.create(userId);
     }
 
     public Optional<Long> getUserId(String sid) {
         if (sid == null) return Optional.empty();
-        return Optional.ofNullable(sessions.get(sid));
+        return store.touch(sid);
     }
 
     public void destroySession(String sid) {
         if (sid == null) return;
-        sessions.remove(sid);
+        store.remove(sid);
+    }
+    
+    @Scheduled(every = "${app.sessions.sweep-interval:60s}", concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void sweep() {
+        long removed = store.sweep();
+        if (removed > 0) {
+            System.out.println("[SessionService] Expired " + removed + " sessions");
+        }
     }
 }
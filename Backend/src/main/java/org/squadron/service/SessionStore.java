@@ -0,0 +1,27 @@
+package org.squadron.service;
+
+import java.util.Optional;
+
+/**
+ * Login sessions keyed by an opaque session id. Sessions expire after a period of inactivity
+ * (sliding TTL) and the store holds at most a configured number of them.
+ */
+public interface SessionStore {
+    
+    /**
+     * Start a session for the user and return its id.
+     */
+    String create(long userId);
+    
+    /**
+     * The user id of a live session, extending its expiry; empty if unknown or expired.
+     */
+    Optional<Long> touch(String sid);
+    
+    void remove(String sid);
+    
+    /**
+     * Drop expired sessions and enforce the size limit. Returns the number removed.
+     */
+    long sweep();
+}
@@ -0,0 +1,111 @@
+package org.squadron.service;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.squadron.repository.HardwareAssetRepository;
+import org.squadron.repository.PeripheralRepository;
+import org.squadron.service.PrefixIndex.Match;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Prefix indexes over asset service tags and peripheral serial numbers.
+ *
+ * Each index is built from one projection query on first use and then kept current by the
+ * services, which report changed values after their transaction commits. Loading and applying
+ * changes are serialized on the index, and both are idempotent, so a change that commits while
+ * the index is loading is still applied afterwards.
+ */
+@ApplicationScoped
+public class TagAutocomplete {
+    
+    public static final int DEFAULT_LIMIT = 10;
+    public static final int MAX_LIMIT = 50;
+    
+    @Inject
+    HardwareAssetRepository assetRepository;
+    
+    @Inject
+    PeripheralRepository peripheralRepository;
+    
+    @Inject
+    AfterCommit afterCommit;
+    
+    private final PrefixIndex serviceTags = new PrefixIndex();
+    private final PrefixIndex serialNumbers = new PrefixIndex();
+    private volatile boolean serviceTagsLoaded;
+    private volatile boolean serialNumbersLoaded;
+    
+    public List<Match> serviceTags(String prefix, Integer limit) {
+        if (!serviceTagsLoaded) {
+            synchronized (serviceTags) {
+                if (!serviceTagsLoaded) {
+                    load(serviceTags, assetRepository.serviceTags(), "service tags");
+                    serviceTagsLoaded = true;
+                }
+            }
+        }
+        return serviceTags.search(prefix, clampLimit(limit));
+    }
+    
+    public List<Match> serialNumbers(String prefix, Integer limit) {
+        if (!serialNumbersLoaded) {
+            synchronized (serialNumbers) {
+                if (!serialNumbersLoaded) {
+                    load(serialNumbers, peripheralRepository.serialNumbers(), "serial numbers");
+                    serialNumbersLoaded = true;
+                }
+            }
+        }
+        return serialNumbers.search(prefix, clampLimit(limit));
+    }
+    
+    /**
+     * Record changed service tags (id to tag; a null tag removes the id).
+     */
+    public void serviceTagsChanged(Map<Long, String> tagsById) {
+        afterCommit.run(() -> apply(serviceTags, tagsById));
+    }
+    
+    public void serviceTagChanged(Long id, String serviceTag) {
+        serviceTagsChanged(Collections.singletonMap(id, serviceTag));
+    }
+    
+    public void serialNumbersChanged(Map<Long, String> serialsById) {
+        afterCommit.run(() -> apply(serialNumbers, serialsById));
+    }
+    
+    public void serialNumberChanged(Long id, String serialNumber) {
+        serialNumbersChanged(Collections.singletonMap(id, serialNumber));
+    }
+    
+    private static void load(PrefixIndex index, List<Object[]> rows, String what) {
+        long start = System.nanoTime();
+        for (Object[] row : rows) {
+            index.put((Long) row[0], (String) row[1]);
+        }
+        System.out.println("[TagAutocomplete] Indexed " + index.size() + " " + what + " in "
+                + (System.nanoTime() - start) / 1_000_000 + " ms");
+    }
+    
+    private static void apply(PrefixIndex index, Map<Long, String> changes) {
+        synchronized (index) {
+            for (Map.Entry<Long, String> change : changes.entrySet()) {
+                if (change.getValue() != null) {
+                    index.put(change.getKey(), change.getValue());
+                } else {
+                    index.remove(change.getKey());
+                }
+            }
+        }
+    }
+    
+    private static int clampLimit(Integer limit) {
+        if (limit == null || limit <= 0) {
+            return DEFAULT_LIMIT;
+        }
+        return Math.min(limit, MAX_LIMIT);
+    }
+}
@@ -2,25 +2,45 @@ package org.squadron.service;
 
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
+import org.squadron.auth.PasswordVerifier;
 import org.squadron.model.User;
 import org.squadron.repository.UserRepository;
+import org.squadron.repository.KeysetPage;
 import org.mindrot.jbcrypt.BCrypt;
 import jakarta.transaction.Transactional;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
 
 @ApplicationScoped
 public class UserService {
 
+    // Roles allowed to sign in to the console; everyone else only verifies assets through emailed links
+    public static final Set<String> LOGIN_ROLES = Set.of("finance", "assetManager");
+
     @Inject
     UserRepository userRepository;
 
+    @Inject
+    PasswordVerifier passwordVerifier;
+
+    @Inject
+    EmployeeDirectory employeeDirectory;
+
     public Optional<User> findByUsername(String username) {
         return userRepository.findByUsername(username);
     }
 
+    /**
+     * Distinct departments, served from the {@link EmployeeDirectory}.
+     */
+    public List<String> findAllDepartments() {
+        return employeeDirectory.departments();
+    }
+
     public Optional<User> findByRole(String role) {
         return userRepository.findByRole(role);
     }
@@ -29,10 +49,19 @@ public class UserService {
         return Optional.ofNullable(userRepository.findById(id));
     }
 
+    // Bypasses the second-level cache; for login checks that must see deactivations from other nodes
+    public Optional<User> findByIdUncached(long id) {
+        return Optional.ofNullable(userRepository.findByIdUncached(id));
+    }
+
     public List<User> findAll() {
         return userRepository.listAll();
     }
     
+    public KeysetPage<User> findPage(Long after, Integer limit, String role, String department) {
+        return userRepository.findPage(after, limit, role, department);
+    }
+    
     public List<User> findByDepartment(String department) {
         return userRepository.findByDepartment(department);
     }
@@ -44,22 +73,22 @@ public class UserService {
         return userRepository.findByDepartments(departments);
     }
 
-    public Optional<User> authenticate(String username, String password) {
-        // Try to find by username first
-        Optional<User> userOpt = userRepository.findByUsername(username);
-        
-        // If not found by username, try email
-        if (userOpt.isEmpty()) {
-            userOpt = userRepository.findByEmail(username);
+    /**
+     * Resolves the account by username or email in one query, then checks the password on the
+     * {@link PasswordVerifier} pool so the calling worker is not held for the BCrypt round.
+     * Completes exceptionally with RejectedExecutionException when that pool is saturated.
+     */
+    public CompletableFuture<Optional<User>> authenticate(String login, String password) {
+        Optional<User> userOpt = userRepository.findByLogin(login);
+        if (userOpt.isEmpty() || userOpt.get().password == null || !userOpt.get().active) {
+            return CompletableFuture.completedFuture(Optional.empty());
         }
-        
-        if (userOpt.isPresent()) {
-            User u = userOpt.get();
-            if (u.password != null && BCrypt.checkpw(password, u.password)) {
-                return Optional.of(u);
-            }
-        }
-        return Optional.empty();
+        return passwordVerifier.matches(password, userOpt.get().password)
+            .thenApply(matches -> matches ? userOpt : Optional.empty());
+    }
+
+    public static boolean canLogin(User user) {
+        return user.active && LOGIN_ROLES.contains(user.role);
     }
 
     @Transactional
@@ -71,6 +100,7 @@ public class UserService {
         u.name = name;
         // optional extra fields left null by this signature
         userRepository.persist(u);
+        employeeDirectory.changed(u);
         return u;
     }
 
@@ -86,6 +116,7 @@ public class UserService {
         u.department = department;
         u.employeeId = employeeId;
         userRepository.persist(u);
+        employeeDirectory.changed(u);
         return u;
     }
 }
\ No newline at end of file
@@ -9,6 +9,7 @@ import org.squadron.model.VerificationRecord.ExceptionType;
 import org.squadron.model.Campaign;
 import org.squadron.repository.VerificationRecordRepository;
 import org.squadron.repository.CampaignRepository;
+import org.squadron.repository.KeysetPage;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -28,6 +29,12 @@ public class VerificationService {
         return repository.listAll();
     }
     
+    public KeysetPage<VerificationRecord> findPage(Long after, Integer limit, Long campaignId,
+                                                   VerificationStatus status, String employeeId,
+                                                   org.squadron.model.HardwareAsset.AssetType assetType) {
+        return repository.findPage(after, limit, campaignId, status, employeeId, assetType);
+    }
+    
     public VerificationRecord findById(Long id) {
         return repository.findById(id);
     }
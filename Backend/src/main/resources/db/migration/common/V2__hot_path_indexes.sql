@@ -0,0 +1,34 @@
+-- Secondary indexes for the hot-path queries. Each index names the repository methods it serves;
+-- QueryPlanIndexTest checks that the plans of those queries pick them up.
+
+-- HardwareAssetRepository.findByAssignedTo / findByAssignedToIn: assets of one or many employees
+CREATE INDEX idx_hardware_assets_assigned_to ON hardware_assets (assignedTo);
+
+-- VerificationRecordRepository.findPendingByCampaignId / countPendingByEmployee / findPendingEmployeeRows,
+-- countByCampaignId and campaign record listings; also serves the campaign_id foreign key
+CREATE INDEX idx_verification_records_campaign_status ON verification_records (campaign_id, status);
+
+-- VerificationRecordRepository.findByEmployeeId / findByEmployeeIdAndCampaignId and the pending-employee semi-join
+CREATE INDEX idx_verification_records_employee ON verification_records (employeeId, campaign_id);
+
+-- VerificationTokenRepository pending tokens of a campaign (campaignId = ? and used = false)
+CREATE INDEX idx_verification_tokens_campaign_used ON verification_tokens (campaignId, used);
+
+-- VerificationTokenRepository.findByEmployeeId / valid token of an employee in a campaign
+CREATE INDEX idx_verification_tokens_employee ON verification_tokens (employeeId, campaignId);
+
+-- PeripheralRepository in-stock keyset scans (status = ? and type = ? and id > ? order by id) and aggregates
+CREATE INDEX idx_peripherals_status_type ON peripherals (status, type);
+
+-- PeripheralRepository serial number de-duplication during stock intake
+CREATE INDEX idx_peripherals_serial_number ON peripherals (serialNumber);
+
+-- UserRepository.findByEmployeeId / findByEmployeeIds and the HR directory sync
+CREATE INDEX idx_users_employee_id ON users (employeeId);
+
+-- UserRepository.findByLogin / findByUsername / findByEmail
+CREATE INDEX idx_users_username ON users (username);
+CREATE INDEX idx_users_email ON users (email);
+
+-- UserRepository.findByDepartment / findByDepartments (campaign targeting by team)
+CREATE INDEX idx_users_department ON users (department);
@@ -0,0 +1,140 @@
+-- Baseline schema for H2, used by the test profile. Keep in step with mysql/V1__baseline_schema.sql;
+-- the only differences are the dialect details: real sequences instead of *_SEQ tables, no engine clause.
+
+CREATE TABLE users (
+    id BIGINT NOT NULL,
+    username VARCHAR(255),
+    password VARCHAR(255),
+    role VARCHAR(255),
+    name VARCHAR(255),
+    email VARCHAR(255),
+    phone VARCHAR(255),
+    department VARCHAR(255),
+    employeeId VARCHAR(255),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE hardware_assets (
+    id BIGINT NOT NULL,
+    serviceTag VARCHAR(255) NOT NULL,
+    assetType VARCHAR(255) NOT NULL,
+    model VARCHAR(255) NOT NULL,
+    invoiceNumber VARCHAR(255),
+    poNumber VARCHAR(255),
+    cost DECIMAL(12,2),
+    purchaseDate DATE,
+    assignedTo VARCHAR(255),
+    assignedToName VARCHAR(255),
+    assignedDate DATE,
+    status VARCHAR(255) NOT NULL,
+    verificationStatus VARCHAR(255),
+    lastVerifiedDate DATE,
+    verificationImage VARCHAR(255),
+    isHighValue BOOLEAN NOT NULL,
+    location VARCHAR(255),
+    team VARCHAR(255),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_hardware_assets_service_tag UNIQUE (serviceTag)
+);
+
+CREATE TABLE peripherals (
+    id BIGINT NOT NULL,
+    type VARCHAR(255) NOT NULL,
+    serialNumber VARCHAR(255) NULL,
+    status VARCHAR(255) DEFAULT 'Instock' NOT NULL,
+    assignedTo VARCHAR(255) NULL,
+    assignedToName VARCHAR(255) NULL,
+    verified BOOLEAN NOT NULL,
+    assignedDate DATE NULL,
+    verifiedDate DATE NULL,
+    purchaseDate DATE NULL,
+    location VARCHAR(255) NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE campaigns (
+    id BIGINT NOT NULL,
+    name VARCHAR(255) NOT NULL,
+    description VARCHAR(255),
+    createdBy VARCHAR(255),
+    createdDate DATE,
+    startDate DATE,
+    deadline DATE,
+    status VARCHAR(255),
+    totalEmployees INT NOT NULL,
+    totalAssets INT NOT NULL,
+    totalPeripherals INT NOT NULL,
+    verifiedCount INT NOT NULL,
+    pendingCount INT NOT NULL,
+    overdueCount INT NOT NULL,
+    exceptionCount INT NOT NULL,
+    filtersJson TEXT,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE verification_records (
+    id BIGINT NOT NULL,
+    campaign_id BIGINT,
+    employeeId VARCHAR(255) NOT NULL,
+    employeeName VARCHAR(255) NOT NULL,
+    assetId BIGINT,
+    serviceTag VARCHAR(255),
+    assetType VARCHAR(255),
+    status VARCHAR(255),
+    uploadedImage LONGTEXT,
+    recordedServiceTag VARCHAR(255),
+    peripheralsConfirmedJson TEXT,
+    peripheralsNotWithMeJson TEXT,
+    comment TEXT,
+    submittedDate TIMESTAMP(6),
+    reviewedBy VARCHAR(255),
+    exceptionType VARCHAR(255),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_verification_records_campaign FOREIGN KEY (campaign_id) REFERENCES campaigns (id)
+);
+
+CREATE TABLE verification_tokens (
+    id BIGINT NOT NULL,
+    token VARCHAR(255) NOT NULL,
+    employeeId VARCHAR(255) NOT NULL,
+    employeeName VARCHAR(255) NOT NULL,
+    employeeEmail VARCHAR(255),
+    campaignId BIGINT NOT NULL,
+    campaignName VARCHAR(255),
+    createdAt TIMESTAMP(6) NOT NULL,
+    expiresAt TIMESTAMP(6) NOT NULL,
+    used BOOLEAN NOT NULL,
+    usedAt TIMESTAMP(6),
+    assetIdsJson TEXT,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_verification_tokens_token UNIQUE (token)
+);
+
+CREATE TABLE equipment_counts (
+    id BIGINT NOT NULL,
+    category VARCHAR(255) NOT NULL,
+    itemName VARCHAR(255) NOT NULL,
+    quantity INT NOT NULL,
+    item_value DECIMAL(14,2),
+    location VARCHAR(255),
+    uploadedBy VARCHAR(255),
+    uploadedDate DATE,
+    status VARCHAR(255),
+    verificationStatus VARCHAR(255),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE MyEntity (
+    id BIGINT NOT NULL,
+    field VARCHAR(255),
+    PRIMARY KEY (id)
+);
+
+CREATE SEQUENCE User_SEQ START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE HardwareAsset_SEQ START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE Peripheral_SEQ START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE Campaign_SEQ START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE VerificationRecord_SEQ START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE VerificationToken_SEQ START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE EquipmentCount_SEQ START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE MyEntity_SEQ START WITH 1 INCREMENT BY 50;
@@ -0,0 +1,22 @@
+-- H2 counterpart of mysql/V3__active_users_sessions_peripheral_assets.sql; keep the two in step.
+
+ALTER TABLE users ADD COLUMN active BOOLEAN DEFAULT TRUE NOT NULL;
+
+CREATE TABLE user_sessions (
+    id BIGINT NOT NULL,
+    sid VARCHAR(64) NOT NULL,
+    userId BIGINT NOT NULL,
+    createdAt TIMESTAMP(6) NOT NULL,
+    lastAccess TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_user_sessions_sid UNIQUE (sid)
+);
+
+CREATE INDEX idx_user_sessions_last_access ON user_sessions (lastAccess);
+
+CREATE SEQUENCE UserSession_SEQ START WITH 1 INCREMENT BY 50;
+
+ALTER TABLE peripherals ADD COLUMN assetId BIGINT;
+
+CREATE INDEX idx_peripherals_asset ON peripherals (assetId);
+CREATE INDEX idx_peripherals_assigned_to ON peripherals (assignedTo);
@@ -0,0 +1,26 @@
+-- Schema added to the entities after the baseline: the users.active flag cleared by the HR directory
+-- sync, the jdbc session store's user_sessions table, and the peripheral-to-asset link.
+
+ALTER TABLE users ADD COLUMN active BOOLEAN DEFAULT TRUE NOT NULL;
+
+CREATE TABLE user_sessions (
+    id BIGINT NOT NULL,
+    sid VARCHAR(64) NOT NULL,
+    userId BIGINT NOT NULL,
+    createdAt DATETIME(6) NOT NULL,
+    lastAccess DATETIME(6) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_user_sessions_sid UNIQUE (sid)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+-- Expired-session sweep (lastAccess < cutoff)
+CREATE INDEX idx_user_sessions_last_access ON user_sessions (lastAccess);
+
+CREATE TABLE UserSession_SEQ (next_val BIGINT) ENGINE=InnoDB;
+INSERT INTO UserSession_SEQ VALUES (1);
+
+ALTER TABLE peripherals ADD COLUMN assetId BIGINT;
+
+-- PeripheralRepository.findForEmployee / findByAssetIds: peripherals by asset or by assignee
+CREATE INDEX idx_peripherals_asset ON peripherals (assetId);
+CREATE INDEX idx_peripherals_assigned_to ON peripherals (assignedTo);
@@ -0,0 +1,81 @@
+package org.squadron.auth;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.squadron.auth.JwtService.Claims;
+import org.squadron.model.User;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of authenticating with an access token: a full signature check versus the
+ * cached path the auth filter takes for repeat requests. Run with:
+ * mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=org.squadron.auth.PrincipalResolverBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PrincipalResolverBenchmark {
+    
+    JwtService jwtService;
+    PrincipalResolver resolver;
+    String token;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        jwtService = new JwtService();
+        jwtService.objectMapper = new ObjectMapper();
+        jwtService.secret = "benchmark-signing-secret-of-at-least-32-bytes";
+        jwtService.issuer = "squadron";
+        jwtService.accessTtl = Duration.ofMinutes(15);
+        jwtService.refreshTtl = Duration.ofDays(7);
+        jwtService.init();
+        
+        resolver = new PrincipalResolver();
+        resolver.jwtService = jwtService;
+        resolver.cacheSize = 10_000;
+        resolver.sessionPrincipalTtl = Duration.ofSeconds(30);
+        
+        User user = new User();
+        user.id = 42L;
+        user.username = "asset.manager";
+        user.role = "assetManager";
+        user.name = "Asset Manager";
+        user.email = "asset.manager@example.com";
+        user.employeeId = "EMP0042";
+        user.department = "IT";
+        token = jwtService.issueAccessToken(user);
+    }
+    
+    @Benchmark
+    public Optional<Claims> verifySignature() {
+        return jwtService.verify(token, JwtService.ACCESS);
+    }
+    
+    @Benchmark
+    public Optional<Claims> resolveCached() {
+        return resolver.resolve(token, null);
+    }
+    
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(PrincipalResolverBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,188 @@
+package org.squadron.repository;
+
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.squadron.model.Peripheral.PeripheralType;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that the hot-path queries of the repositories are planned on the indexes from
+ * V2__hot_path_indexes.sql. Each test calls the repository method itself and explains the SQL
+ * Hibernate prepared for it, captured by {@link StatementCapture}, so a query that drifts away
+ * from its index fails here. Tables are filled with a few thousand rows and analyzed first so
+ * that H2's optimizer works from realistic selectivity instead of empty tables.
+ */
+@QuarkusTest
+class QueryPlanIndexTest {
+    
+    private static final int ROWS = 3000;
+    private static boolean seeded;
+    
+    @Inject
+    EntityManager em;
+    
+    @Inject
+    StatementCapture capture;
+    
+    @Inject
+    HardwareAssetRepository assetRepository;
+    
+    @Inject
+    VerificationRecordRepository recordRepository;
+    
+    @Inject
+    VerificationTokenRepository tokenRepository;
+    
+    @Inject
+    PeripheralRepository peripheralRepository;
+    
+    @Inject
+    UserRepository userRepository;
+    
+    @BeforeEach
+    void seed() {
+        if (seeded) {
+            return;
+        }
+        QuarkusTransaction.requiringNew().run(() -> {
+            exec("INSERT INTO campaigns (id, name, status, totalEmployees, totalAssets, totalPeripherals,"
+                    + " verifiedCount, pendingCount, overdueCount, exceptionCount)"
+                    + " SELECT 900000 + X, CONCAT('Plan campaign ', X), 'Active', 0, 0, 0, 0, 0, 0, 0 FROM SYSTEM_RANGE(1, 20)");
+            exec("INSERT INTO users (id, username, password, role, name, email, department, employeeId, active)"
+                    + " SELECT 900000 + X, CONCAT('plan.user', X), NULL, 'employee', CONCAT('Plan User ', X),"
+                    + " CONCAT('plan.user', X, '@example.com'), CONCAT('Plan Dept ', MOD(X, 50)), CONCAT('PLAN', X), TRUE"
+                    + " FROM SYSTEM_RANGE(1, " + ROWS + ")");
+            exec("INSERT INTO hardware_assets (id, serviceTag, assetType, model, status, isHighValue, assignedTo)"
+                    + " SELECT 900000 + X, CONCAT('PLAN-ST-', X), 'Laptop', 'Plan Model', 'Assigned', FALSE, CONCAT('PLAN', X)"
+                    + " FROM SYSTEM_RANGE(1, " + ROWS + ")");
+            // One unit in ten in stock, spread over six types
+            exec("INSERT INTO peripherals (id, type, serialNumber, status, verified)"
+                    + " SELECT 900000 + X,"
+                    + " CASE MOD(X, 6) WHEN 0 THEN 'Charger' WHEN 1 THEN 'Headphones' WHEN 2 THEN 'Dock'"
+                    + " WHEN 3 THEN 'Mouse' WHEN 4 THEN 'Keyboard' ELSE 'USBCCable' END,"
+                    + " CONCAT('PLAN-SN-', X), CASE WHEN MOD(X, 10) = 0 THEN 'Instock' ELSE 'Assigned' END, FALSE"
+                    + " FROM SYSTEM_RANGE(1, " + ROWS + ")");
+            exec("INSERT INTO verification_records (id, campaign_id, employeeId, employeeName, assetId, status)"
+                    + " SELECT 900000 + X, 900000 + MOD(X, 20) + 1, CONCAT('PLAN', X), CONCAT('Plan User ', X), 900000 + X,"
+                    + " CASE WHEN MOD(X, 4) = 0 THEN 'Pending' ELSE 'Verified' END"
+                    + " FROM SYSTEM_RANGE(1, " + ROWS + ")");
+            exec("INSERT INTO verification_tokens (id, token, employeeId, employeeName, campaignId, createdAt, expiresAt, used)"
+                    + " SELECT 900000 + X, CONCAT('plan-token-', X), CONCAT('PLAN', X), CONCAT('Plan User ', X),"
+                    + " 900000 + MOD(X, 20) + 1, CURRENT_TIMESTAMP, DATEADD('DAY', 7, CURRENT_TIMESTAMP), MOD(X, 2) = 0"
+                    + " FROM SYSTEM_RANGE(1, " + ROWS + ")");
+            exec("ANALYZE");
+        });
+        seeded = true;
+    }
+    
+    @Test
+    void assetsOfOneEmployee() {
+        assertUsesIndex(() -> assetRepository.findByAssignedTo("PLAN7"),
+                List.of("PLAN7"), "IDX_HARDWARE_ASSETS_ASSIGNED_TO");
+    }
+    
+    @Test
+    void assetsOfManyEmployees() {
+        List<String> employeeIds = List.of("PLAN7", "PLAN8", "PLAN9");
+        assertUsesIndex(() -> assetRepository.findByAssignedToIn(employeeIds),
+                employeeIds, "IDX_HARDWARE_ASSETS_ASSIGNED_TO");
+    }
+    
+    @Test
+    void pendingRecordsOfCampaign() {
+        assertUsesIndex(() -> recordRepository.findPendingByCampaignId(900003L),
+                List.of(900003L, "Pending"), "IDX_VERIFICATION_RECORDS_CAMPAIGN_STATUS");
+    }
+    
+    @Test
+    void pendingCountsPerEmployee() {
+        assertUsesIndex(() -> recordRepository.countPendingByEmployee(900003L),
+                List.of(900003L, "Pending"), "IDX_VERIFICATION_RECORDS_CAMPAIGN_STATUS");
+    }
+    
+    @Test
+    void recordsOfEmployee() {
+        assertUsesIndex(() -> recordRepository.findByEmployeeId("PLAN7"),
+                List.of("PLAN7"), "IDX_VERIFICATION_RECORDS_EMPLOYEE");
+    }
+    
+    @Test
+    void unusedTokensOfCampaign() {
+        assertUsesIndex(() -> tokenRepository.findPendingByCampaignId(900003L),
+                List.of(900003L), "IDX_VERIFICATION_TOKENS_CAMPAIGN_USED");
+    }
+    
+    @Test
+    void nextInstockPeripheralOfType() {
+        assertUsesIndex(() -> peripheralRepository.claimInstock(PeripheralType.Mouse, 0L),
+                List.of("Instock", "Mouse", 0L), "IDX_PERIPHERALS_STATUS_TYPE");
+    }
+    
+    @Test
+    void existingSerialNumbers() {
+        List<String> serials = List.of("PLAN-SN-7", "PLAN-SN-8");
+        assertUsesIndex(() -> peripheralRepository.findExistingSerialNumbers(serials),
+                serials, "IDX_PERIPHERALS_SERIAL_NUMBER");
+    }
+    
+    @Test
+    void userByEmployeeId() {
+        assertUsesIndex(() -> userRepository.findByEmployeeId("PLAN7"),
+                List.of("PLAN7"), "IDX_USERS_EMPLOYEE_ID");
+    }
+    
+    @Test
+    void userByUsername() {
+        assertUsesIndex(() -> userRepository.findByUsername("plan.user7"),
+                List.of("plan.user7"), "IDX_USERS_USERNAME");
+    }
+    
+    @Test
+    void usersOfDepartments() {
+        List<String> departments = List.of("Plan Dept 1", "Plan Dept 2");
+        assertUsesIndex(() -> userRepository.findByDepartments(departments),
+                departments, "IDX_USERS_DEPARTMENT");
+    }
+    
+    private void exec(String sql) {
+        em.createNativeQuery(sql).executeUpdate();
+    }
+    
+    /**
+     * Runs the repository method, takes the last statement Hibernate prepared for it and checks the
+     * plan of that exact SQL. Arguments are bound in order; any placeholders left after them are
+     * the row limit Hibernate adds for firstResult() and are bound to 1.
+     */
+    private void assertUsesIndex(Runnable repositoryCall, List<?> arguments, String index) {
+        List<String> statements = capture.capture(() -> QuarkusTransaction.requiringNew().run(repositoryCall));
+        assertFalse(statements.isEmpty(), "repository method issued no SQL");
+        String sql = statements.get(statements.size() - 1);
+        
+        String plan = QuarkusTransaction.requiringNew().call(() -> em.unwrap(Session.class).doReturningWork(connection -> {
+            try (PreparedStatement explain = connection.prepareStatement("EXPLAIN " + sql)) {
+                int placeholders = explain.getParameterMetaData().getParameterCount();
+                for (int i = 1; i <= placeholders; i++) {
+                    explain.setObject(i, i <= arguments.size() ? arguments.get(i - 1) : 1);
+                }
+                try (ResultSet rs = explain.executeQuery()) {
+                    rs.next();
+                    return rs.getString(1);
+                }
+            }
+        }));
+        assertTrue(plan.toUpperCase(Locale.ROOT).contains(index),
+                "expected " + index + " in plan of:\n" + sql + "\nplan:\n" + plan);
+    }
+}
@@ -0,0 +1,39 @@
+package org.squadron.repository;
+
+import io.quarkus.hibernate.orm.PersistenceUnitExtension;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Records the SQL Hibernate prepares on the current thread while {@link #capture} runs,
+ * so tests can inspect exactly what a repository method sends to the database.
+ */
+@PersistenceUnitExtension
+@ApplicationScoped
+public class StatementCapture implements StatementInspector {
+    
+    private static final ThreadLocal<List<String>> CAPTURED = new ThreadLocal<>();
+    
+    @Override
+    public String inspect(String sql) {
+        List<String> captured = CAPTURED.get();
+        if (captured != null) {
+            captured.add(sql);
+        }
+        return sql;
+    }
+    
+    public List<String> capture(Runnable work) {
+        List<String> captured = new ArrayList<>();
+        CAPTURED.set(captured);
+        try {
+            work.run();
+        } finally {
+            CAPTURED.remove();
+        }
+        return captured;
+    }
+}
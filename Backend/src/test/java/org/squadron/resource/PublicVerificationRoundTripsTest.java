@@ -0,0 +1,113 @@
+package org.squadron.resource;
+
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.http.ContentType;
+import jakarta.inject.Inject;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.squadron.model.Campaign;
+import org.squadron.model.Campaign.CampaignStatus;
+import org.squadron.model.HardwareAsset;
+import org.squadron.model.HardwareAsset.AssetStatus;
+import org.squadron.model.HardwareAsset.AssetType;
+import org.squadron.model.VerificationToken;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares JDBC statements per public verification flow (open the link, submit one asset)
+ * with the second-level cache cleared before every flow versus kept warm between flows.
+ */
+@QuarkusTest
+class PublicVerificationRoundTripsTest {
+    
+    private static final int FLOWS = 20;
+    private static final String EMPLOYEE_ID = "RT-EMP-1";
+    
+    @Inject
+    SessionFactory sessionFactory;
+    
+    String token;
+    Long assetId;
+    String serviceTag;
+    
+    @BeforeEach
+    void seed() {
+        String suffix = Long.toString(System.nanoTime());
+        serviceTag = "RT-" + suffix;
+        QuarkusTransaction.requiringNew().run(() -> {
+            Campaign campaign = new Campaign();
+            campaign.name = "Round trips " + suffix;
+            campaign.status = CampaignStatus.Active;
+            campaign.startDate = LocalDate.now();
+            campaign.deadline = LocalDate.now().plusDays(14);
+            campaign.persist();
+            
+            HardwareAsset asset = new HardwareAsset();
+            asset.serviceTag = serviceTag;
+            asset.assetType = AssetType.Laptop;
+            asset.model = "Latitude 7440";
+            asset.status = AssetStatus.Assigned;
+            asset.assignedTo = EMPLOYEE_ID;
+            asset.assignedToName = "Round Trip";
+            asset.persist();
+            assetId = asset.id;
+            
+            VerificationToken t = VerificationToken.create(EMPLOYEE_ID, "Round Trip", "rt@example.com",
+                campaign.id, campaign.name, "[" + asset.id + "]", 7);
+            t.persist();
+            token = t.token;
+        });
+        sessionFactory.getStatistics().setStatisticsEnabled(true);
+    }
+    
+    @Test
+    void warmCacheNeedsFewerRoundTripsPerFlow() {
+        Statistics stats = sessionFactory.getStatistics();
+        
+        // Before: every flow starts with empty cache regions
+        long cold = 0;
+        for (int i = 0; i < FLOWS; i++) {
+            sessionFactory.getCache().evictAllRegions();
+            cold += statementsFor(stats);
+        }
+        
+        // After: regions filled by one unmeasured flow and kept between flows
+        sessionFactory.getCache().evictAllRegions();
+        statementsFor(stats);
+        long hitsBefore = stats.getSecondLevelCacheHitCount();
+        long warm = 0;
+        for (int i = 0; i < FLOWS; i++) {
+            warm += statementsFor(stats);
+        }
+        long hits = stats.getSecondLevelCacheHitCount() - hitsBefore;
+        
+        System.out.printf("[PublicVerificationRoundTripsTest] statements per flow: cold=%.1f warm=%.1f (%d L2 hits over %d flows)%n",
+            (double) cold / FLOWS, (double) warm / FLOWS, hits, FLOWS);
+        assertTrue(hits > 0, "warm flows should be served from the second-level cache");
+        assertTrue(warm < cold, "warm cache should save round trips: cold=" + cold + " warm=" + warm);
+    }
+    
+    private long statementsFor(Statistics stats) {
+        long before = stats.getPrepareStatementCount();
+        
+        given()
+            .when().get("/api/public/verify/" + token)
+            .then().statusCode(200);
+        
+        given()
+            .contentType(ContentType.JSON)
+            .body(Map.of("assetId", assetId, "recordedServiceTag", serviceTag))
+            .when().post("/api/public/verify/" + token + "/submit")
+            .then().statusCode(200);
+        
+        return stats.getPrepareStatementCount() - before;
+    }
+}
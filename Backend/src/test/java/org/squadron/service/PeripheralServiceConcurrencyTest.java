@@ -0,0 +1,75 @@
+package org.squadron.service;
+
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+import org.squadron.model.Peripheral;
+import org.squadron.model.Peripheral.PeripheralStatus;
+import org.squadron.model.Peripheral.PeripheralType;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@QuarkusTest
+class PeripheralServiceConcurrencyTest {
+    
+    private static final int ADDED_UNITS = 20;
+    private static final int EXTRA_ASSIGNERS = 12;
+    
+    @Inject
+    PeripheralService service;
+    
+    @Test
+    void parallelAssignersClaimDistinctUnits() throws Exception {
+        for (int i = 0; i < ADDED_UNITS; i++) {
+            service.addToStock(PeripheralType.USBCCable, "CONC-" + i, "Test Shelf");
+        }
+        int units = (int) service.countInstockByType(PeripheralType.USBCCable);
+        long assignedBefore = service.findByType(PeripheralType.USBCCable).stream()
+            .filter(p -> p.status == PeripheralStatus.Assigned)
+            .count();
+        
+        // More assigners than units, all released at once
+        int assigners = units + EXTRA_ASSIGNERS;
+        ExecutorService pool = Executors.newFixedThreadPool(assigners);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Peripheral>> results = new ArrayList<>();
+        for (int i = 0; i < assigners; i++) {
+            String employeeId = "EMP-" + i;
+            results.add(pool.submit(() -> {
+                start.await();
+                return service.assignFromStock(PeripheralType.USBCCable, employeeId, "Employee " + employeeId);
+            }));
+        }
+        start.countDown();
+        
+        Set<Long> claimedIds = new HashSet<>();
+        int claimed = 0;
+        for (Future<Peripheral> result : results) {
+            Peripheral p = result.get(60, TimeUnit.SECONDS);
+            if (p != null) {
+                claimed++;
+                claimedIds.add(p.id);
+            }
+        }
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+        
+        assertEquals(units, claimed, "every unit in stock should be handed out once");
+        assertEquals(units, claimedIds.size(), "no unit may be handed to two assigners");
+        assertEquals(0, service.countInstockByType(PeripheralType.USBCCable));
+        assertEquals(assignedBefore + units, service.findByType(PeripheralType.USBCCable).stream()
+            .filter(p -> p.status == PeripheralStatus.Assigned)
+            .count());
+    }
+}
@@ -0,0 +1,82 @@
+package org.squadron.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Autocomplete lookups against a service tag sized index. The target is a lookup in the
+ * low microseconds at 300k tags; this has not been measured yet. Run with:
+ * mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=org.squadron.service.PrefixIndexBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PrefixIndexBenchmark {
+    
+    @Param({"100000", "300000"})
+    int tags;
+    
+    PrefixIndex index;
+    String[] prefixes;
+    int next;
+    long nextId;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        index = new PrefixIndex();
+        for (long id = 1; id <= tags; id++) {
+            index.put(id, randomTag(random));
+        }
+        nextId = tags + 1;
+        prefixes = new String[1024];
+        for (int i = 0; i < prefixes.length; i++) {
+            String tag = randomTag(random);
+            prefixes[i] = tag.substring(0, 2 + random.nextInt(4));
+        }
+    }
+    
+    // Dell-style seven character tags
+    private static String randomTag(Random random) {
+        String alphabet = "0123456789BCDFGHJKLMNPQRSTVWXYZ";
+        StringBuilder tag = new StringBuilder(7);
+        for (int i = 0; i < 7; i++) {
+            tag.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        return tag.toString();
+    }
+    
+    @Benchmark
+    public List<PrefixIndex.Match> search() {
+        return index.search(prefixes[next++ & (prefixes.length - 1)], 10);
+    }
+    
+    @Benchmark
+    public void update() {
+        index.put(nextId++ % tags + 1, prefixes[next++ & (prefixes.length - 1)] + "X1");
+    }
+    
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(PrefixIndexBenchmark.class.getSimpleName()).build()).run();
+    }
+}
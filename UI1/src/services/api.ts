@@ -23,7 +23,19 @@ async function fetchApi<T>(
   const timeoutId = setTimeout(() => controller.abort(), timeoutMs);
 
   try {
-    const response = await fetch(url, { ...defaultOptions, ...options, signal: controller.signal });
+    let response = await fetch(url, { ...defaultOptions, ...options, signal: controller.signal });
+
+    // Access tokens are short lived: on 401, exchange the refresh cookie once and retry
+    if (response.status === 401 && !endpoint.startsWith('/auth/')) {
+      const refreshed = await fetch(`${API_BASE_URL}/auth/refresh`, {
+        method: 'POST',
+        credentials: 'include',
+        signal: controller.signal,
+      });
+      if (refreshed.ok) {
+        response = await fetch(url, { ...defaultOptions, ...options, signal: controller.signal });
+      }
+    }
 
     if (!response.ok) {
       const error = await response.json().catch(() => ({ message: 'Unknown error' }));